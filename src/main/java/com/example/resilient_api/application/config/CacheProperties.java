@@ -0,0 +1,64 @@
+package com.example.resilient_api.application.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las cachés en memoria de la aplicación
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private Capacity capacity = new Capacity();
+    private Bootcamp bootcamp = new Bootcamp();
+    private User user = new User();
+    private Invalidation invalidation = new Invalidation();
+
+    @Getter
+    @Setter
+    public static class Capacity {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Bootcamp {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        /**
+         * Antigüedad a partir de la cual un acceso dispara la recarga en segundo plano; debe ser menor que ttl
+         */
+        private Duration refreshAfter = Duration.ofMinutes(2);
+    }
+
+    @Getter
+    @Setter
+    public static class User {
+        private boolean enabled = true;
+        private long maximumSize = 100_000;
+        private Duration positiveTtl = Duration.ofMinutes(5);
+        /**
+         * Corto: un usuario recién dado de alta debe poder inscribirse sin esperar al vencimiento
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        private boolean enabled = true;
+        /**
+         * Canal de LISTEN/NOTIFY compartido por todas las réplicas (identificador SQL, sin comillas)
+         */
+        private String channel = "bootcamp_cache_invalidation";
+        private Duration minBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofSeconds(30);
+    }
+}
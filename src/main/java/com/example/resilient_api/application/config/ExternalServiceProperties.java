@@ -0,0 +1,48 @@
+package com.example.resilient_api.application.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los microservicios externos (capacity, user y metrics)
+ * Cada servicio tiene su propia URL base y su propio pool de conexiones
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "external")
+public class ExternalServiceProperties {
+
+    private ServiceProperties capacity = new ServiceProperties();
+    private ServiceProperties user = new ServiceProperties();
+    private ServiceProperties metrics = new ServiceProperties();
+
+    @Getter
+    @Setter
+    public static class ServiceProperties {
+        private String baseUrl;
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private int maxInMemorySize = 2 * 1024 * 1024;
+        private Batch batch = new Batch();
+    }
+
+    /**
+     * Agrupación (micro-batching) de consultas concurrentes hacia el servicio
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(5);
+        private int maxBatchSize = 100;
+    }
+}
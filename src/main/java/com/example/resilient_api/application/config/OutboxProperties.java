@@ -0,0 +1,79 @@
+package com.example.resilient_api.application.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los outbox hacia el microservicio de métricas y hacia capacity-api
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    @Valid
+    private Metrics metrics = new Metrics();
+    private CapacityCleanup capacityCleanup = new CapacityCleanup();
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        /**
+         * Desactivado por defecto: requiere el token de servicio. Mientras está apagado los disparos se acumulan
+         * en metrics_outbox y se envían al activarlo
+         */
+        private boolean enabled = false;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        /** Máximo de bootcamps distintos por flush */
+        private int batchSize = 500;
+        /** Un bootcamp se reporta cuando lleva este tiempo sin nuevos disparos... */
+        private Duration quietPeriod = Duration.ofSeconds(2);
+        /** ...o, como muy tarde, este tiempo después de su primer disparo pendiente */
+        private Duration maxDelay = Duration.ofSeconds(30);
+        /** Duración del reclamo de un lote; debe cubrir el envío completo, si vence otra réplica puede reenviarlo */
+        private Duration lease = Duration.ofMinutes(5);
+        /** Reportes por bootcamp enviados en paralelo; por debajo del bulkhead de metrics-service */
+        private int sendConcurrency = 4;
+        /** Intentos de un bootcamp antes de aparcar sus filas */
+        private int maxAttempts = 10;
+        /** Espera antes del primer reintento; se duplica en cada fallo hasta maxRetryBackoff */
+        private Duration retryBackoff = Duration.ofSeconds(5);
+        private Duration maxRetryBackoff = Duration.ofMinutes(10);
+        /** El servicio de métricas solo expone POST /metrics/bootcamp/report; activar solo si existe el endpoint bulk */
+        private boolean bulkEndpoint = false;
+        /** Valor de la cabecera Authorization del relay, que no se origina en ninguna petición de usuario */
+        private String authToken;
+
+        @AssertTrue(message = "outbox.metrics.auth-token is required when the metrics outbox relay is enabled")
+        public boolean isAuthTokenConfigured() {
+            return !enabled || (authToken != null && !authToken.isBlank());
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class CapacityCleanup {
+        /**
+         * Activado por defecto: con el relay apagado las capacidades huérfanas se acumulan en capacity_cleanup_outbox
+         * y no se borran en capacity-api hasta activarlo
+         */
+        private boolean enabled = true;
+        private Duration flushInterval = Duration.ofSeconds(5);
+        /** Máximo de capacidades por llamada a capacity-api */
+        private int batchSize = 500;
+        /** Duración del reclamo de un lote; si vence, otra réplica puede reenviar el borrado, que es idempotente */
+        private Duration lease = Duration.ofMinutes(5);
+        /** Intentos de un lote antes de aparcar sus filas */
+        private int maxAttempts = 10;
+        /** Espera antes del primer reintento; se duplica en cada fallo hasta maxRetryBackoff */
+        private Duration retryBackoff = Duration.ofSeconds(5);
+        private Duration maxRetryBackoff = Duration.ofMinutes(10);
+    }
+}
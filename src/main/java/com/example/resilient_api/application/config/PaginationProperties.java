@@ -0,0 +1,35 @@
+package com.example.resilient_api.application.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del total de elementos de los listados paginados
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    private Count count = new Count();
+
+    @Getter
+    @Setter
+    public static class Count {
+        /** EXACT: COUNT(*) por petición; CACHED: total en memoria; ESTIMATE: estimación del planificador */
+        private CountMode mode = CountMode.CACHED;
+        /** Cada cuánto se resincroniza el total en memoria con COUNT(*) (modo CACHED) */
+        private Duration resyncInterval = Duration.ofSeconds(30);
+        /** Por debajo de este tamaño el modo ESTIMATE hace COUNT(*) exacto */
+        private long estimateThreshold = 100_000;
+    }
+
+    public enum CountMode {
+        EXACT,
+        CACHED,
+        ESTIMATE
+    }
+}
@@ -2,69 +2,173 @@ package com.example.resilient_api.application.config;
 
 import com.example.resilient_api.domain.api.BootcampServicePort;
 import com.example.resilient_api.domain.api.EnrollmentServicePort;
+import com.example.resilient_api.domain.spi.BootcampCountPort;
 import com.example.resilient_api.domain.spi.BootcampPersistencePort;
 import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
 import com.example.resilient_api.domain.spi.EnrollmentPersistencePort;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import com.example.resilient_api.domain.usecase.BootcampUseCase;
 import com.example.resilient_api.domain.usecase.EnrollmentUseCase;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidationPublisher;
+import com.example.resilient_api.infrastructure.adapters.cache.CachingBootcampServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.cache.PostgresCacheInvalidationBus;
+import com.example.resilient_api.infrastructure.adapters.cache.SingleFlightBootcampServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.externalservice.BatchingCapacityExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.externalservice.CachingCapacityExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.externalservice.CachingUserExternalServiceAdapter;
 import com.example.resilient_api.infrastructure.adapters.externalservice.CapacityExternalServiceAdapter;
 import com.example.resilient_api.infrastructure.adapters.externalservice.UserExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.BootcampCountAdapter;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.BootcampPersistenceAdapter;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.EnrollmentPersistenceAdapter;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampEntityMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampRepository;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampCapacityRepository;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampUserRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
 import com.example.resilient_api.infrastructure.adapters.webclient.CapacityWebClient;
 import com.example.resilient_api.infrastructure.adapters.webclient.UserWebClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties({CacheProperties.class, OutboxProperties.class, PaginationProperties.class})
 public class UseCasesConfig {
     private final BootcampRepository bootcampRepository;
     private final BootcampCapacityRepository bootcampCapacityRepository;
     private final BootcampUserRepository bootcampUserRepository;
+    private final MetricsOutboxRepository metricsOutboxRepository;
     private final BootcampEntityMapper bootcampEntityMapper;
     private final CapacityWebClient capacityWebClient;
     private final UserWebClient userWebClient;
     private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final CacheProperties cacheProperties;
+    private final ExternalServiceProperties externalServiceProperties;
+    private final PaginationProperties paginationProperties;
 
     @Bean
-    public BootcampPersistencePort bootcampPersistencePort() {
+    public CacheInvalidationPublisher cacheInvalidationPublisher() {
+        return new CacheInvalidationPublisher(databaseClient, cacheProperties.getInvalidation());
+    }
+
+    /**
+     * LISTEN necesita una conexión propia y de larga vida: se abre fuera del pool de R2DBC, con las mismas
+     * credenciales y opciones (spring.r2dbc.properties.*) que el pool
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PostgresCacheInvalidationBus cacheInvalidationBus(R2dbcProperties r2dbcProperties) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(r2dbcProperties.getUrl());
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(r2dbcProperties::getUsername).to(builder::username);
+        map.from(r2dbcProperties::getPassword).to(builder::password);
+        ConnectionFactory listenerConnectionFactory = builder
+                .configure(options -> r2dbcProperties.getProperties()
+                        .forEach((key, value) -> options.option(Option.valueOf(key), value)))
+                .build();
+        return new PostgresCacheInvalidationBus(listenerConnectionFactory, meterRegistry,
+                cacheProperties.getInvalidation());
+    }
+
+    @Bean
+    public BootcampPersistencePort bootcampPersistencePort(CacheInvalidationPublisher cacheInvalidationPublisher) {
         return new BootcampPersistenceAdapter(bootcampRepository, bootcampCapacityRepository,
-                bootcampEntityMapper, databaseClient);
+                bootcampEntityMapper, databaseClient, metricsOutboxRepository, transactionalOperator,
+                cacheInvalidationPublisher);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public BootcampCountAdapter bootcampCountPort(BootcampPersistencePort bootcampPersistencePort,
+                                                  PostgresCacheInvalidationBus cacheInvalidationBus) {
+        BootcampCountAdapter bootcampCountAdapter =
+                new BootcampCountAdapter(bootcampPersistencePort, databaseClient, paginationProperties.getCount());
+        cacheInvalidationBus.register(bootcampCountAdapter);
+        return bootcampCountAdapter;
     }
 
     @Bean
-    public CapacityExternalServicePort capacityExternalServicePort() {
-        return new CapacityExternalServiceAdapter(capacityWebClient);
+    public CapacityExternalServicePort capacityExternalServicePort(PostgresCacheInvalidationBus cacheInvalidationBus) {
+        CapacityExternalServicePort capacityAdapter = new CapacityExternalServiceAdapter(capacityWebClient);
+
+        ExternalServiceProperties.Batch batch = externalServiceProperties.getCapacity().getBatch();
+        if (batch.isEnabled()) {
+            capacityAdapter = new BatchingCapacityExternalServiceAdapter(
+                    capacityAdapter, meterRegistry, batch.getWindow(), batch.getMaxBatchSize());
+        }
+
+        CachingCapacityExternalServiceAdapter cachingCapacityAdapter = new CachingCapacityExternalServiceAdapter(
+                capacityAdapter,
+                meterRegistry,
+                cacheProperties.getCapacity().getMaximumSize(),
+                cacheProperties.getCapacity().getTtl());
+        cacheInvalidationBus.register(cachingCapacityAdapter);
+        return cachingCapacityAdapter;
     }
 
     @Bean
     public UserExternalServicePort userExternalServicePort() {
-        return new UserExternalServiceAdapter(userWebClient);
+        UserExternalServicePort userAdapter = new UserExternalServiceAdapter(userWebClient);
+
+        CacheProperties.User userCache = cacheProperties.getUser();
+        if (!userCache.isEnabled()) {
+            return userAdapter;
+        }
+        return new CachingUserExternalServiceAdapter(
+                userAdapter,
+                meterRegistry,
+                userCache.getMaximumSize(),
+                userCache.getPositiveTtl(),
+                userCache.getNegativeTtl());
     }
 
     @Bean
     public EnrollmentPersistencePort enrollmentPersistencePort() {
-        return new EnrollmentPersistenceAdapter(bootcampUserRepository, bootcampRepository, bootcampEntityMapper);
+        return new EnrollmentPersistenceAdapter(bootcampUserRepository, metricsOutboxRepository,
+                transactionalOperator, databaseClient);
     }
 
     @Bean
     public BootcampServicePort bootcampServicePort(BootcampPersistencePort bootcampPersistencePort,
-                                                    CapacityExternalServicePort capacityExternalServicePort) {
-        return new BootcampUseCase(bootcampPersistencePort, capacityExternalServicePort);
+                                                    CapacityExternalServicePort capacityExternalServicePort,
+                                                    BootcampCountPort bootcampCountPort,
+                                                    PostgresCacheInvalidationBus cacheInvalidationBus) {
+        BootcampServicePort bootcampService =
+                new BootcampUseCase(bootcampPersistencePort, capacityExternalServicePort, bootcampCountPort);
+
+        CacheProperties.Bootcamp bootcampCache = cacheProperties.getBootcamp();
+        if (bootcampCache.isEnabled()) {
+            CachingBootcampServiceAdapter cachingBootcampService = new CachingBootcampServiceAdapter(
+                    bootcampService,
+                    meterRegistry,
+                    bootcampCache.getMaximumSize(),
+                    bootcampCache.getTtl(),
+                    bootcampCache.getRefreshAfter());
+            cacheInvalidationBus.register(cachingBootcampService);
+            bootcampService = cachingBootcampService;
+        }
+
+        // Por fuera de la caché: colapsa los listados idénticos simultáneos, que no se cachean
+        SingleFlightBootcampServiceAdapter singleFlightBootcampService =
+                new SingleFlightBootcampServiceAdapter(bootcampService, meterRegistry);
+        cacheInvalidationBus.register(singleFlightBootcampService);
+        return singleFlightBootcampService;
     }
 
     @Bean
     public EnrollmentServicePort enrollmentServicePort(EnrollmentPersistencePort enrollmentPersistencePort,
-                                                        BootcampPersistencePort bootcampPersistencePort,
                                                         UserExternalServicePort userExternalServicePort) {
-        return new EnrollmentUseCase(enrollmentPersistencePort, bootcampPersistencePort, userExternalServicePort);
+        return new EnrollmentUseCase(enrollmentPersistencePort, userExternalServicePort);
     }
 }
@@ -1,15 +1,93 @@
 package com.example.resilient_api.application.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(ExternalServiceProperties.class)
 public class WebClientConfig {
 
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-}
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider capacityConnectionProvider(ExternalServiceProperties properties) {
+        return buildConnectionProvider("capacity-service", properties.getCapacity());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userConnectionProvider(ExternalServiceProperties properties) {
+        return buildConnectionProvider("user-service", properties.getUser());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider metricsConnectionProvider(ExternalServiceProperties properties) {
+        return buildConnectionProvider("metrics-service", properties.getMetrics());
+    }
+
+    @Bean
+    public WebClient capacityServiceWebClient(WebClient.Builder webClientBuilder,
+                                              ConnectionProvider capacityConnectionProvider,
+                                              ExternalServiceProperties properties) {
+        return buildWebClient(webClientBuilder, capacityConnectionProvider, properties.getCapacity());
+    }
+
+    @Bean
+    public WebClient userServiceWebClient(WebClient.Builder webClientBuilder,
+                                          ConnectionProvider userConnectionProvider,
+                                          ExternalServiceProperties properties) {
+        return buildWebClient(webClientBuilder, userConnectionProvider, properties.getUser());
+    }
+
+    @Bean
+    public WebClient metricsServiceWebClient(WebClient.Builder webClientBuilder,
+                                             ConnectionProvider metricsConnectionProvider,
+                                             ExternalServiceProperties properties,
+                                             OutboxProperties outboxProperties) {
+        // Token de servicio del outbox; OutboxProperties impide arrancar el relay sin él
+        String authToken = outboxProperties.getMetrics().getAuthToken();
+        WebClient webClient = buildWebClient(webClientBuilder, metricsConnectionProvider, properties.getMetrics());
+        if (authToken == null || authToken.isBlank()) {
+            return webClient;
+        }
+        return webClient.mutate().defaultHeader(HttpHeaders.AUTHORIZATION, authToken).build();
+    }
+
+    /**
+     * Pool de conexiones por servicio; metrics(true) publica los gauges
+     * reactor.netty.connection.provider.* en el registro global de Micrometer (Prometheus)
+     */
+    private ConnectionProvider buildConnectionProvider(String name, ExternalServiceProperties.ServiceProperties properties) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient buildWebClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                     ExternalServiceProperties.ServiceProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+
+        return webClientBuilder.clone()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(properties.getMaxInMemorySize()))
+                .build();
+    }
+}
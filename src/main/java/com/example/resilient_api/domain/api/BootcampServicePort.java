@@ -2,18 +2,32 @@ package com.example.resilient_api.domain.api;
 
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
+import com.example.resilient_api.domain.model.CursorPage;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.IdExistence;
 import com.example.resilient_api.domain.model.Page;
 import com.example.resilient_api.domain.model.PaginationRequest;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Map;
 
 public interface BootcampServicePort {
     Mono<Bootcamp> registerBootcamp(Bootcamp bootcamp, String messageId);
-    Mono<Map<Long, Boolean>> checkBootcampsExist(List<Long> ids, String messageId);
+    Mono<List<BulkItemResult>> registerBootcamps(List<Bootcamp> bootcamps, String messageId);
+    Mono<IdExistence> checkBootcampsExist(List<Long> ids, String messageId);
     Mono<Page<BootcampWithCapacities>> listBootcamps(PaginationRequest paginationRequest, String messageId);
+    Mono<CursorPage<BootcampWithCapacities>> listBootcampsAfter(CursorPageRequest cursorPageRequest, String messageId);
     Mono<BootcampWithCapacities> getBootcampById(Long id, String messageId);
+    /**
+     * Versión de GET /bootcamp/{id} sin consultar capacity-api; vacío si el bootcamp no existe
+     */
+    Mono<String> getBootcampVersion(Long id, String messageId);
+    /**
+     * Versión de los listados: cambia con cualquier alta o baja de bootcamps
+     */
+    Mono<String> getCatalogVersion(String messageId);
     Mono<Void> deleteBootcamp(Long id, String messageId);
+    Mono<List<BulkItemResult>> deleteBootcamps(List<Long> ids, String messageId);
 }
 
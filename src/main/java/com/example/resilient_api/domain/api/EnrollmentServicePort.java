@@ -2,12 +2,23 @@ package com.example.resilient_api.domain.api;
 
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 public interface EnrollmentServicePort {
     Mono<BootcampEnrollment> enrollUserInBootcamp(Long bootcampId, Long userId, String messageId);
+    Mono<List<EnrollmentResult>> enrollUsers(List<EnrollmentRequest> enrollments, String messageId);
     Mono<Void> unenrollUserFromBootcamp(Long bootcampId, Long userId, String messageId);
-    Flux<Bootcamp> getUserBootcamps(Long userId, String messageId);
+    Flux<Bootcamp> getUserBootcamps(Long userId, boolean includeCapacityIds, String messageId);
+    /**
+     * Versión de los bootcamps del usuario, para responder peticiones condicionales sin cargarlos
+     */
+    Mono<String> getUserBootcampsVersion(Long userId, String messageId);
+    Mono<Map<Long, List<Bootcamp>>> getBootcampsByUserIds(List<Long> userIds, boolean includeCapacityIds, String messageId);
     Flux<Long> getUserIdsByBootcampId(Long bootcampId, String messageId);
 }
@@ -26,6 +26,8 @@ public enum TechnicalMessage {
     BOOTCAMP_DURATION_INVALID("400", "Bootcamp duration must be at least 1 day", "duration"),
     BOOTCAMP_NOT_FOUND("404", "Bootcamp not found", "id"),
     BOOTCAMP_DELETED("200", "Bootcamp deleted successfully", ""),
+    BOOTCAMP_DELETE_FAILED("500", "Bootcamp could not be deleted, please try again", "id"),
+    BULK_LIMIT_EXCEEDED("400", "Bulk requests cannot exceed %d items", ""),
     CAPACITY_TECHNOLOGIES_REQUIRED("400", "Bootcamp must have at least 3 capacities", "capacityIds"),
     CAPACITY_TECHNOLOGIES_MIN("400", "Bootcamp must have at least 3 capacities", "capacityIds"),
     CAPACITY_TECHNOLOGIES_MAX("400", "Bootcamp cannot have more than 20 capacities", "capacityIds"),
@@ -33,6 +35,7 @@ public enum TechnicalMessage {
     TECHNOLOGIES_NOT_FOUND("400", "Some capacities do not exist", "capacityIds"),
     TECHNOLOGY_SERVICE_ERROR("500", "Error communicating with capacity service", ""),
     USER_SERVICE_ERROR("500", "Error communicating with user service", ""),
+    METRICS_SERVICE_ERROR("500", "Error communicating with metrics service", ""),
     USER_NOT_FOUND("404", "User not found", "userId"),
     USER_ALREADY_ENROLLED("400", "User is already enrolled in this bootcamp", "userId"),
     MAX_BOOTCAMPS_REACHED("400", "User cannot enroll in more than 5 bootcamps", "userId"),
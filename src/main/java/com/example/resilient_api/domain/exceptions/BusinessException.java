@@ -6,9 +6,19 @@ import lombok.Getter;
 @Getter
 public class BusinessException extends ProcessorException {
 
+    private final String param;
+
     public BusinessException(TechnicalMessage technicalMessage) {
         super(technicalMessage.getMessage(), technicalMessage);
+        this.param = technicalMessage.getParam();
     }
 
-
+    /**
+     * Para mensajes con marcadores (p. ej. el límite de un lote): el texto se completa con los argumentos
+     * y el campo afectado lo indica quien lanza la excepción
+     */
+    public BusinessException(TechnicalMessage technicalMessage, String param, Object... arguments) {
+        super(technicalMessage.getMessage().formatted(arguments), technicalMessage);
+        this.param = param;
+    }
 }
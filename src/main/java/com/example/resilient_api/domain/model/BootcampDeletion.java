@@ -0,0 +1,14 @@
+package com.example.resilient_api.domain.model;
+
+import java.util.List;
+
+/**
+ * Bootcamps efectivamente eliminados, capacidades que ya no referencia ningún bootcamp y bootcamps cuyo lote
+ * falló y se revirtió, sin eliminar ninguno de ellos
+ */
+public record BootcampDeletion(
+        List<Long> deletedIds,
+        List<Long> orphanCapacityIds,
+        List<Long> failedIds
+) {
+}
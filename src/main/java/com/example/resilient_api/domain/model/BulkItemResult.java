@@ -0,0 +1,12 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+
+/**
+ * Resultado de un elemento dentro de una operación masiva: el id afectado y el mensaje que describe su desenlace
+ */
+public record BulkItemResult(
+        Long id,
+        TechnicalMessage status
+) {
+}
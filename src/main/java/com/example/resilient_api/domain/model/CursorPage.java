@@ -0,0 +1,11 @@
+package com.example.resilient_api.domain.model;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+}
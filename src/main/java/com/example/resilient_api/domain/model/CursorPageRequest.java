@@ -0,0 +1,33 @@
+package com.example.resilient_api.domain.model;
+
+/**
+ * Petición de página por cursor: after es null para la primera página
+ */
+public record CursorPageRequest(
+        PageCursor after,
+        int size,
+        PaginationRequest.SortField sortBy,
+        PaginationRequest.SortDirection sortDirection
+) {
+    public CursorPageRequest {
+        if (size <= 0) {
+            size = PaginationRequest.DEFAULT_SIZE;
+        }
+        if (size > PaginationRequest.MAX_SIZE) {
+            size = PaginationRequest.MAX_SIZE;
+        }
+        if (sortBy == null) {
+            sortBy = PaginationRequest.SortField.NAME;
+        }
+        if (sortDirection == null) {
+            sortDirection = PaginationRequest.SortDirection.ASC;
+        }
+    }
+
+    /**
+     * Un cursor solo es válido con el mismo criterio de orden con el que se generó
+     */
+    public boolean isCursorConsistent() {
+        return after == null || (after.sortBy() == sortBy && after.sortDirection() == sortDirection);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+
+/**
+ * Desenlace de un par (bootcamp, usuario) en una inscripción masiva; enrollmentId solo existe si se inscribió
+ */
+public record EnrollmentResult(
+        Long bootcampId,
+        Long userId,
+        Long enrollmentId,
+        TechnicalMessage status
+) {
+}
@@ -0,0 +1,61 @@
+package com.example.resilient_api.domain.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Resultado de una comprobación de existencia: los ids solicitados ordenados en un long[] y un bitmap
+ * con un bit por posición. Sustituye a Map&lt;Long, Boolean&gt; sin una entrada ni un Long por id.
+ */
+public final class IdExistence {
+
+    private static final IdExistence EMPTY = new IdExistence(new long[0], new BitSet(0));
+
+    private final long[] ids;
+    private final BitSet present;
+
+    private IdExistence(long[] ids, BitSet present) {
+        this.ids = ids;
+        this.present = present;
+    }
+
+    public static IdExistence empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param requestedIds ids solicitados, ordenados y sin duplicados
+     * @param existingIds  ids encontrados, en cualquier orden
+     */
+    public static IdExistence of(long[] requestedIds, long[] existingIds) {
+        BitSet present = new BitSet(requestedIds.length);
+        for (long existingId : existingIds) {
+            int position = Arrays.binarySearch(requestedIds, existingId);
+            if (position >= 0) {
+                present.set(position);
+            }
+        }
+        return new IdExistence(requestedIds, present);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long idAt(int position) {
+        return ids[position];
+    }
+
+    public boolean existsAt(int position) {
+        return present.get(position);
+    }
+
+    public boolean exists(long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position >= 0 && present.get(position);
+    }
+
+    public boolean allExist() {
+        return present.cardinality() == ids.length;
+    }
+}
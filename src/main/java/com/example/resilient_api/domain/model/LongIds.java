@@ -0,0 +1,58 @@
+package com.example.resilient_api.domain.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Acumulador de ids sobre un long[] que crece bajo demanda: no guarda un Long ni una referencia por elemento,
+ * así listas de cientos de miles de ids no retienen objetos en el heap
+ */
+public final class LongIds {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public static LongIds of(Collection<Long> ids) {
+        LongIds longIds = new LongIds();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    longIds.add(id);
+                }
+            }
+        }
+        return longIds;
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Copia ordenada y sin duplicados, apta para búsqueda binaria
+     */
+    public long[] toSortedDistinctArray() {
+        long[] sorted = toArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (long value : sorted) {
+            if (distinct == 0 || sorted[distinct - 1] != value) {
+                sorted[distinct++] = value;
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
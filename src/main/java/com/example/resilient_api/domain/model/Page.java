@@ -9,9 +9,14 @@ public record Page<T>(
         long totalElements,
         int totalPages,
         boolean first,
-        boolean last
+        boolean last,
+        boolean totalExact
 ) {
     public static <T> Page<T> of(List<T> content, int page, int size, long totalElements) {
+        return of(content, page, size, totalElements, true);
+    }
+
+    public static <T> Page<T> of(List<T> content, int page, int size, long totalElements, boolean totalExact) {
         int totalPages = (int) Math.ceil((double) totalElements / size);
         return new Page<>(
                 content,
@@ -20,7 +25,8 @@ public record Page<T>(
                 totalElements,
                 totalPages,
                 page == 0,
-                page >= totalPages - 1
+                page >= totalPages - 1,
+                totalExact
         );
     }
 }
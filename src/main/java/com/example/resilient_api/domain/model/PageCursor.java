@@ -0,0 +1,48 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de la última fila entregada en la paginación por cursor (keyset).
+ * Se serializa como un token opaco en Base64 URL-safe; el nombre va al final porque puede contener ':'
+ */
+public record PageCursor(
+        PaginationRequest.SortField sortBy,
+        PaginationRequest.SortDirection sortDirection,
+        int capacityCount,
+        String name,
+        Long id
+) {
+    private static final String SEPARATOR = ":";
+
+    public static PageCursor after(Bootcamp bootcamp, PaginationRequest.SortField sortBy,
+                                   PaginationRequest.SortDirection sortDirection) {
+        int capacityCount = bootcamp.capacityIds() != null ? bootcamp.capacityIds().size() : 0;
+        return new PageCursor(sortBy, sortDirection, capacityCount, bootcamp.name(), bootcamp.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy.name(), sortDirection.name(),
+                String.valueOf(capacityCount), String.valueOf(id), name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 5);
+            return new PageCursor(
+                    PaginationRequest.SortField.valueOf(parts[0]),
+                    PaginationRequest.SortDirection.valueOf(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    parts[4],
+                    Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BusinessException(TechnicalMessage.INVALID_PARAMETERS);
+        }
+    }
+}
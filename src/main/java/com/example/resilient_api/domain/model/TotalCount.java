@@ -0,0 +1,15 @@
+package com.example.resilient_api.domain.model;
+
+/**
+ * Total de elementos de un listado; exact es false cuando proviene de caché o de una estimación
+ */
+public record TotalCount(long value, boolean exact) {
+
+    public static TotalCount exact(long value) {
+        return new TotalCount(value, true);
+    }
+
+    public static TotalCount approximate(long value) {
+        return new TotalCount(value, false);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.resilient_api.domain.spi;
+
+import com.example.resilient_api.domain.model.TotalCount;
+import reactor.core.publisher.Mono;
+
+public interface BootcampCountPort {
+    Mono<TotalCount> totalBootcamps();
+}
@@ -1,6 +1,8 @@
 package com.example.resilient_api.domain.spi;
 
 import com.example.resilient_api.domain.model.Bootcamp;
+import com.example.resilient_api.domain.model.BootcampDeletion;
+import com.example.resilient_api.domain.model.CursorPageRequest;
 import com.example.resilient_api.domain.model.PaginationRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -9,14 +11,41 @@ import java.util.List;
 
 public interface BootcampPersistencePort {
     Mono<Bootcamp> save(Bootcamp bootcamp);
+    /**
+     * Guarda el lote (bootcamps, relaciones y outbox) en una sola sentencia; omite los nombres que ya existan
+     * y devuelve solo los bootcamps insertados
+     */
+    Flux<Bootcamp> saveAll(List<Bootcamp> bootcamps);
     Mono<Boolean> existByName(String name);
+    Flux<String> findExistingNames(List<String> names);
     Flux<Long> findExistingIdsByIds(List<Long> ids);
     Flux<Bootcamp> findAllPaginated(PaginationRequest paginationRequest);
+    /**
+     * Paginación keyset: hasta limit bootcamps posteriores al cursor de la petición en su orden
+     */
+    Flux<Bootcamp> findAllAfter(CursorPageRequest cursorPageRequest, int limit);
     Mono<Long> count();
     Flux<Long> findCapacityIdsByBootcampId(Long bootcampId);
     Mono<Bootcamp> findById(Long id);
-    Mono<Void> deleteById(Long id);
-    Mono<Void> deleteBootcampCapacitiesByBootcampId(Long bootcampId);
-    Mono<Long> countBootcampsByCapacityId(Long capacityId);
+    /**
+     * Versión derivada de los datos del bootcamp y de sus capacidades; vacío si no existe
+     */
+    Mono<String> findVersionById(Long id);
+    /**
+     * Versión del catálogo completo: cambia con cada alta o baja de bootcamps
+     */
+    Mono<Long> findCatalogVersion();
+    /**
+     * Elimina el bootcamp y sus relaciones en una transacción y devuelve las capacidades que solo él referenciaba.
+     * En la misma transacción esas capacidades quedan registradas para su borrado diferido en capacity-api.
+     * Vacío si el bootcamp no existe
+     */
+    Mono<List<Long>> deleteReturningOrphanCapacityIds(Long id);
+    /**
+     * Versión masiva: elimina por lotes transaccionales, registrando las huérfanas de cada lote en su transacción,
+     * y devuelve la unión de capacidades huérfanas del conjunto. El fallo de un lote no interrumpe a los demás:
+     * sus ids se devuelven como fallidos
+     */
+    Mono<BootcampDeletion> deleteAllReturningOrphanCapacityIds(List<Long> ids);
 }
 
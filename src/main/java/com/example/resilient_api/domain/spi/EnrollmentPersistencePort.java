@@ -2,15 +2,38 @@ package com.example.resilient_api.domain.spi;
 
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 public interface EnrollmentPersistencePort {
-    Mono<BootcampEnrollment> enrollUser(Long bootcampId, Long userId);
+    /**
+     * Inscribe al usuario validando de forma atómica existencia del bootcamp, duplicado,
+     * límite de bootcamps y solapamiento de fechas; las violaciones se emiten como BusinessException
+     */
+    Mono<BootcampEnrollment> enrollUser(Long bootcampId, Long userId, int maxBootcampsPerUser);
+    /**
+     * Inscripción masiva con las mismas reglas, evaluadas en orden sobre el estado de todos los usuarios
+     * cargado con consultas por conjunto; devuelve un resultado por par en el orden recibido
+     */
+    Mono<List<EnrollmentResult>> enrollUsers(List<EnrollmentRequest> enrollments, int maxBootcampsPerUser);
     Mono<Void> unenrollUser(Long bootcampId, Long userId);
     Mono<Long> countEnrollmentsByUserId(Long userId);
     Flux<BootcampEnrollment> findEnrollmentsByUserId(Long userId);
-    Flux<Bootcamp> findBootcampsByUserId(Long userId);
+    Flux<Bootcamp> findBootcampsByUserId(Long userId, boolean includeCapacityIds);
+    /**
+     * Bootcamps de varios usuarios en una sola consulta; cada id solicitado aparece en el mapa,
+     * con lista vacía si no tiene inscripciones
+     */
+    Mono<Map<Long, List<Bootcamp>>> findBootcampsByUserIds(List<Long> userIds, boolean includeCapacityIds);
     Flux<Long> findUserIdsByBootcampId(Long bootcampId);
+    /**
+     * Token opaco que cambia con cualquier inscripción o baja del usuario, sin leer sus bootcamps
+     */
+    Mono<String> findUserBootcampsVersion(Long userId);
     Mono<Boolean> isUserEnrolled(Long bootcampId, Long userId);
 }
@@ -4,10 +4,18 @@ import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
+import com.example.resilient_api.domain.model.CursorPage;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.IdExistence;
+import com.example.resilient_api.domain.model.LongIds;
 import com.example.resilient_api.domain.model.Page;
+import com.example.resilient_api.domain.model.PageCursor;
 import com.example.resilient_api.domain.model.PaginationRequest;
 import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.model.TotalCount;
 import com.example.resilient_api.domain.api.BootcampServicePort;
+import com.example.resilient_api.domain.spi.BootcampCountPort;
 import com.example.resilient_api.domain.spi.BootcampPersistencePort;
 import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
 import reactor.core.publisher.Flux;
@@ -17,7 +25,11 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class BootcampUseCase implements BootcampServicePort {
 
@@ -26,14 +38,18 @@ public class BootcampUseCase implements BootcampServicePort {
     private static final int MIN_CAPACITIES = 1;
     private static final int MAX_CAPACITIES = 4;
     private static final int MIN_DURATION = 1;
+    private static final int MAX_BULK_ITEMS = 500;
 
     private final BootcampPersistencePort bootcampPersistencePort;
     private final CapacityExternalServicePort capacityExternalServicePort;
+    private final BootcampCountPort bootcampCountPort;
 
     public BootcampUseCase(BootcampPersistencePort bootcampPersistencePort,
-                           CapacityExternalServicePort capacityExternalServicePort) {
+                           CapacityExternalServicePort capacityExternalServicePort,
+                           BootcampCountPort bootcampCountPort) {
         this.bootcampPersistencePort = bootcampPersistencePort;
         this.capacityExternalServicePort = capacityExternalServicePort;
+        this.bootcampCountPort = bootcampCountPort;
     }
 
     @Override
@@ -54,36 +70,107 @@ public class BootcampUseCase implements BootcampServicePort {
     }
 
     @Override
-    public Mono<Map<Long, Boolean>> checkBootcampsExist(List<Long> ids, String messageId) {
-        if (ids == null || ids.isEmpty()) {
-            return Mono.just(Map.of());
+    public Mono<List<BulkItemResult>> registerBootcamps(List<Bootcamp> bootcamps, String messageId) {
+        if (bootcamps == null || bootcamps.isEmpty()) {
+            return Mono.just(List.of());
         }
+        if (bootcamps.size() > MAX_BULK_ITEMS) {
+            return Mono.error(new BusinessException(TechnicalMessage.BULK_LIMIT_EXCEEDED, "bootcamps", MAX_BULK_ITEMS));
+        }
+
+        // 1. Mismas reglas síncronas que el alta individual; un nombre repetido en el lote falla desde su segunda aparición
+        TechnicalMessage[] failures = new TechnicalMessage[bootcamps.size()];
+        Set<String> batchNames = new HashSet<>();
+        for (int i = 0; i < bootcamps.size(); i++) {
+            Bootcamp bootcamp = bootcamps.get(i);
+            try {
+                validateBootcampSync(bootcamp);
+                validateCapacitiesSync(bootcamp.capacityIds());
+                if (!batchNames.add(bootcamp.name())) {
+                    failures[i] = TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS;
+                }
+            } catch (BusinessException e) {
+                failures[i] = e.getTechnicalMessage();
+            }
+        }
+
+        List<Bootcamp> validBootcamps = IntStream.range(0, bootcamps.size())
+                .filter(i -> failures[i] == null)
+                .mapToObj(bootcamps::get)
+                .toList();
+        if (validBootcamps.isEmpty()) {
+            return Mono.just(toBulkResults(bootcamps, failures, Map.of()));
+        }
+
+        List<Long> distinctCapacityIds = validBootcamps.stream()
+                .flatMap(bootcamp -> bootcamp.capacityIds().stream())
+                .distinct()
+                .toList();
+
+        // 2. Una sola consulta de nombres y una sola llamada a capacity-api para todo el lote
+        return Mono.zip(
+                        bootcampPersistencePort.findExistingNames(List.copyOf(batchNames)).collect(Collectors.toSet()),
+                        capacityExternalServicePort.checkCapacitiesExist(distinctCapacityIds, messageId))
+                .flatMap(tuple -> {
+                    Set<String> existingNames = tuple.getT1();
+                    Map<Long, Boolean> capacityExistence = tuple.getT2();
+                    for (int i = 0; i < bootcamps.size(); i++) {
+                        Bootcamp bootcamp = bootcamps.get(i);
+                        if (failures[i] != null) {
+                            continue;
+                        }
+                        if (existingNames.contains(bootcamp.name())) {
+                            failures[i] = TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS;
+                        } else if (!bootcamp.capacityIds().stream()
+                                .allMatch(capacityId -> capacityExistence.getOrDefault(capacityId, false))) {
+                            failures[i] = TechnicalMessage.TECHNOLOGIES_NOT_FOUND;
+                        }
+                    }
+
+                    List<Bootcamp> bootcampsToSave = IntStream.range(0, bootcamps.size())
+                            .filter(i -> failures[i] == null)
+                            .mapToObj(bootcamps::get)
+                            .toList();
+                    if (bootcampsToSave.isEmpty()) {
+                        return Mono.just(toBulkResults(bootcamps, failures, Map.of()));
+                    }
+
+                    // 3. Inserción del lote completo en una sola sentencia
+                    return bootcampPersistencePort.saveAll(bootcampsToSave)
+                            .collectMap(Bootcamp::name, Bootcamp::id)
+                            .map(savedIds -> toBulkResults(bootcamps, failures, savedIds));
+                });
+    }
 
+    @Override
+    public Mono<IdExistence> checkBootcampsExist(List<Long> ids, String messageId) {
+        long[] requestedIds = LongIds.of(ids).toSortedDistinctArray();
+        if (requestedIds.length == 0) {
+            return Mono.just(IdExistence.empty());
+        }
+
+        // Ids encontrados en un long[] y un bit por id solicitado, sin Set<Long> ni Map<Long, Boolean> intermedios
         return bootcampPersistencePort.findExistingIdsByIds(ids)
-                .collect(Collectors.toSet())
-                .map(existingIds -> ids.stream()
-                        .collect(Collectors.toMap(
-                                id -> id,
-                                existingIds::contains
-                        ))
-                );
+                .collect(LongIds::new, LongIds::add)
+                .map(existingIds -> IdExistence.of(requestedIds, existingIds.toArray()));
     }
 
     @Override
     public Mono<Page<BootcampWithCapacities>> listBootcamps(PaginationRequest paginationRequest, String messageId) {
-        // Obtener el conteo total y las capacidades en paralelo
-        Mono<Long> totalCount = bootcampPersistencePort.count();
+        // Obtener el total (en memoria o estimado según configuración) y la página en paralelo
+        Mono<TotalCount> totalCount = bootcampCountPort.totalBootcamps();
         Mono<List<Bootcamp>> bootcamps = bootcampPersistencePort
                 .findAllPaginated(paginationRequest)
                 .collectList();
 
         return Mono.zip(totalCount, bootcamps)
                 .flatMap(tuple -> {
-                    Long total = tuple.getT1();
+                    TotalCount total = tuple.getT1();
                     List<Bootcamp> bootcampList = tuple.getT2();
 
                     if (bootcampList.isEmpty()) {
-                        return Mono.just(Page.of(List.of(), paginationRequest.page(), paginationRequest.size(), total));
+                        return Mono.just(Page.of(List.of(), paginationRequest.page(), paginationRequest.size(),
+                                total.value(), total.exact()));
                     }
 
                     // Enriquecer cada capacidad con sus tecnologías
@@ -93,11 +180,40 @@ public class BootcampUseCase implements BootcampServicePort {
                                     enrichedBootcamps,
                                     paginationRequest.page(),
                                     paginationRequest.size(),
-                                    total
+                                    total.value(),
+                                    total.exact()
                             ));
                 });
     }
 
+    @Override
+    public Mono<CursorPage<BootcampWithCapacities>> listBootcampsAfter(CursorPageRequest cursorPageRequest,
+                                                                       String messageId) {
+        if (!cursorPageRequest.isCursorConsistent()) {
+            return Mono.error(new BusinessException(TechnicalMessage.INVALID_PARAMETERS));
+        }
+
+        int size = cursorPageRequest.size();
+        // Se pide una fila de más para saber si hay página siguiente sin contar el total
+        return bootcampPersistencePort.findAllAfter(cursorPageRequest, size + 1)
+                .collectList()
+                .flatMap(bootcampList -> {
+                    boolean last = bootcampList.size() <= size;
+                    List<Bootcamp> pageContent = last ? bootcampList : bootcampList.subList(0, size);
+
+                    if (pageContent.isEmpty()) {
+                        return Mono.just(new CursorPage<BootcampWithCapacities>(List.of(), size, null, true));
+                    }
+
+                    String nextCursor = last ? null : PageCursor.after(pageContent.get(size - 1),
+                            cursorPageRequest.sortBy(), cursorPageRequest.sortDirection()).encode();
+
+                    return enrichBootcampsWithCapacities(pageContent, messageId)
+                            .collectList()
+                            .map(enrichedBootcamps -> new CursorPage<>(enrichedBootcamps, size, nextCursor, last));
+                });
+    }
+
     @Override
     public Mono<BootcampWithCapacities> getBootcampById(Long id, String messageId) {
         return bootcampPersistencePort.findById(id)
@@ -105,116 +221,145 @@ public class BootcampUseCase implements BootcampServicePort {
                 .flatMap(bootcamp -> enrichBootcampWithCapacities(bootcamp, messageId));
     }
 
+    @Override
+    public Mono<String> getBootcampVersion(Long id, String messageId) {
+        return bootcampPersistencePort.findVersionById(id)
+                .map(version -> id + "." + version);
+    }
+
+    @Override
+    public Mono<String> getCatalogVersion(String messageId) {
+        return bootcampPersistencePort.findCatalogVersion()
+                .map(String::valueOf);
+    }
+
     @Override
     public Mono<Void> deleteBootcamp(Long id, String messageId) {
-        // 1. Verificar que el bootcamp existe
-        return bootcampPersistencePort.findById(id)
+        // Bootcamp, relaciones y registro de las capacidades huérfanas en una transacción;
+        // el borrado en capacity-api lo entrega el relay del outbox, con reintentos
+        return bootcampPersistencePort.deleteReturningOrphanCapacityIds(id)
                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)))
-                .flatMap(bootcamp ->
-                    // 2. Obtener IDs de capacidades asociadas
-                    bootcampPersistencePort.findCapacityIdsByBootcampId(id)
-                            .collectList()
-                            .flatMap(capacityIds -> {
-                                if (capacityIds.isEmpty()) {
-                                    // Si no hay capacidades, solo eliminar el bootcamp
-                                    return bootcampPersistencePort.deleteBootcampCapacitiesByBootcampId(id)
-                                            .then(bootcampPersistencePort.deleteById(id));
-                                }
-
-                                // 3. Para cada capacidad, contar cuántos bootcamps la referencian
-                                return Flux.fromIterable(capacityIds)
-                                        .flatMap(capacityId ->
-                                            bootcampPersistencePort.countBootcampsByCapacityId(capacityId)
-                                                .map(count -> new Object() {
-                                                    final Long id = capacityId;
-                                                    final Long refCount = count;
-                                                })
-                                        )
-                                        .collectList()
-                                        .flatMap(capacityReferences -> {
-                                            // 4. Filtrar capacidades con solo 1 referencia (este bootcamp)
-                                            List<Long> capacitiesToDelete = capacityReferences.stream()
-                                                    .filter(ref -> ref.refCount <= 1)
-                                                    .map(ref -> ref.id)
-                                                    .toList();
-
-                                            // 5. Eliminar relaciones bootcamp_capacity primero
-                                            return bootcampPersistencePort.deleteBootcampCapacitiesByBootcampId(id)
-                                                    // 6. Si hay capacidades a eliminar, notificar a capacity-api
-                                                    .then(capacitiesToDelete.isEmpty()
-                                                        ? Mono.empty()
-                                                        : capacityExternalServicePort.deleteCapacitiesByIds(capacitiesToDelete, messageId))
-                                                    // 7. Eliminar el bootcamp
-                                                    .then(bootcampPersistencePort.deleteById(id));
-                                        });
-                            })
-                );
+                .then();
     }
 
-    private reactor.core.publisher.Flux<BootcampWithCapacities> enrichBootcampsWithCapacities(
+    @Override
+    public Mono<List<BulkItemResult>> deleteBootcamps(List<Long> ids, String messageId) {
+        List<Long> distinctIds = ids == null ? List.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        if (distinctIds.size() > MAX_BULK_ITEMS) {
+            return Mono.error(new BusinessException(TechnicalMessage.BULK_LIMIT_EXCEEDED, "ids", MAX_BULK_ITEMS));
+        }
+
+        // 1. Eliminar por lotes transaccionales; cada lote registra sus huérfanas para el relay del outbox
+        return bootcampPersistencePort.deleteAllReturningOrphanCapacityIds(distinctIds)
+                // 2. Resultado por id en el orden recibido; los ids de un lote revertido se informan como fallidos
+                .map(deletion -> {
+                    Set<Long> deletedIds = new HashSet<>(deletion.deletedIds());
+                    Set<Long> failedIds = new HashSet<>(deletion.failedIds());
+                    return distinctIds.stream()
+                            .map(id -> new BulkItemResult(id, deletedIds.contains(id)
+                                    ? TechnicalMessage.BOOTCAMP_DELETED
+                                    : failedIds.contains(id)
+                                            ? TechnicalMessage.BOOTCAMP_DELETE_FAILED
+                                            : TechnicalMessage.BOOTCAMP_NOT_FOUND))
+                            .toList();
+                });
+    }
+
+    private Flux<BootcampWithCapacities> enrichBootcampsWithCapacities(
             List<Bootcamp> bootcamps, String messageId) {
 
-        return reactor.core.publisher.Flux.fromIterable(bootcamps)
-                .flatMap(bootcamp ->
-                    bootcampPersistencePort.findCapacityIdsByBootcampId(bootcamp.id())
-                            .collectList()
-                            .flatMap(capacityIds -> {
-                                if (capacityIds.isEmpty()) {
-                                    return Mono.just(new BootcampWithCapacities(
-                                            bootcamp.id(),
-                                            bootcamp.name(),
-                                            bootcamp.description(),
-                                            bootcamp.launchDate(),
-                                            bootcamp.duration(),
-                                            List.of()
-                                    ));
-                                }
-
-                                // Consultar las capacidades con sus tecnologías al servicio externo
-                                return capacityExternalServicePort.getCapacitiesWithTechnologies(capacityIds, messageId)
-                                        .collectList()
-                                        .map(capacities -> new BootcampWithCapacities(
-                                                bootcamp.id(),
-                                                bootcamp.name(),
-                                                bootcamp.description(),
-                                                bootcamp.launchDate(),
-                                                bootcamp.duration(),
-                                                capacities
-                                        ));
-                            }), 255
-                );
+        // Reunir los IDs de capacidades distintos de toda la página para consultarlos en una sola llamada
+        List<Long> distinctCapacityIds = bootcamps.stream()
+                .map(Bootcamp::capacityIds)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+
+        if (distinctCapacityIds.isEmpty()) {
+            return Flux.fromIterable(bootcamps)
+                    .map(bootcamp -> toBootcampWithCapacities(bootcamp, Map.of()));
+        }
+
+        return capacityExternalServicePort.getCapacitiesWithTechnologies(distinctCapacityIds, messageId)
+                .collectMap(CapacitySummary::id, Function.identity())
+                .flatMapMany(capacitiesById -> Flux.fromIterable(bootcamps)
+                        .map(bootcamp -> toBootcampWithCapacities(bootcamp, capacitiesById)));
+    }
+
+    private BootcampWithCapacities toBootcampWithCapacities(Bootcamp bootcamp, Map<Long, CapacitySummary> capacitiesById) {
+        List<CapacitySummary> capacities = bootcamp.capacityIds() == null
+                ? List.of()
+                : bootcamp.capacityIds().stream()
+                        .map(capacitiesById::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+
+        return new BootcampWithCapacities(
+                bootcamp.id(),
+                bootcamp.name(),
+                bootcamp.description(),
+                bootcamp.launchDate(),
+                bootcamp.duration(),
+                capacities
+        );
     }
 
     private Mono<BootcampWithCapacities> enrichBootcampWithCapacities(Bootcamp bootcamp, String messageId) {
-        return bootcampPersistencePort.findCapacityIdsByBootcampId(bootcamp.id())
+        List<Long> capacityIds = bootcamp.capacityIds() != null ? bootcamp.capacityIds() : List.of();
+        if (capacityIds.isEmpty()) {
+            return Mono.just(new BootcampWithCapacities(
+                    bootcamp.id(),
+                    bootcamp.name(),
+                    bootcamp.description(),
+                    bootcamp.launchDate(),
+                    bootcamp.duration(),
+                    List.of()
+            ));
+        }
+
+        // Consultar las capacidades con sus tecnologías al servicio externo
+        return capacityExternalServicePort.getCapacitiesWithTechnologies(capacityIds, messageId)
                 .collectList()
-                .flatMap(capacityIds -> {
-                    if (capacityIds.isEmpty()) {
-                        return Mono.just(new BootcampWithCapacities(
-                                bootcamp.id(),
-                                bootcamp.name(),
-                                bootcamp.description(),
-                                bootcamp.launchDate(),
-                                bootcamp.duration(),
-                                List.of()
-                        ));
-                    }
+                .map(capacities -> new BootcampWithCapacities(
+                        bootcamp.id(),
+                        bootcamp.name(),
+                        bootcamp.description(),
+                        bootcamp.launchDate(),
+                        bootcamp.duration(),
+                        capacities
+                ));
+    }
 
-                    // Consultar las capacidades con sus tecnologías al servicio externo
-                    return capacityExternalServicePort.getCapacitiesWithTechnologies(capacityIds, messageId)
-                            .collectList()
-                            .map(capacities -> new BootcampWithCapacities(
-                                    bootcamp.id(),
-                                    bootcamp.name(),
-                                    bootcamp.description(),
-                                    bootcamp.launchDate(),
-                                    bootcamp.duration(),
-                                    capacities
-                            ));
-                });
+    /**
+     * Resultado por elemento en el orden recibido; un válido que no aparece entre los guardados
+     * perdió la carrera por el nombre contra otra inserción concurrente
+     */
+    private List<BulkItemResult> toBulkResults(List<Bootcamp> bootcamps, TechnicalMessage[] failures,
+                                               Map<String, Long> savedIds) {
+        return IntStream.range(0, bootcamps.size())
+                .mapToObj(i -> {
+                    if (failures[i] != null) {
+                        return new BulkItemResult(null, failures[i]);
+                    }
+                    Long id = savedIds.get(bootcamps.get(i).name());
+                    return id != null
+                            ? new BulkItemResult(id, TechnicalMessage.TECHNOLOGY_CREATED)
+                            : new BulkItemResult(null, TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS);
+                })
+                .toList();
     }
 
     private void validateBootcampSync(Bootcamp bootcamp) {
+        if (bootcamp == null) {
+            throw new BusinessException(TechnicalMessage.INVALID_REQUEST);
+        }
         if (bootcamp.name() == null || bootcamp.name().trim().isEmpty()) {
             throw new BusinessException(TechnicalMessage.TECHNOLOGY_NAME_REQUIRED);
         }
@@ -5,31 +5,35 @@ import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
-import com.example.resilient_api.domain.spi.BootcampPersistencePort;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
 import com.example.resilient_api.domain.spi.EnrollmentPersistencePort;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 public class EnrollmentUseCase implements EnrollmentServicePort {
 
     private static final int MAX_BOOTCAMPS_PER_USER = 5;
+    private static final int MAX_BULK_ITEMS = 500;
 
     private final EnrollmentPersistencePort enrollmentPersistencePort;
-    private final BootcampPersistencePort bootcampPersistencePort;
     private final UserExternalServicePort userExternalServicePort;
 
     public EnrollmentUseCase(
             EnrollmentPersistencePort enrollmentPersistencePort,
-            BootcampPersistencePort bootcampPersistencePort,
             UserExternalServicePort userExternalServicePort) {
         this.enrollmentPersistencePort = enrollmentPersistencePort;
-        this.bootcampPersistencePort = bootcampPersistencePort;
         this.userExternalServicePort = userExternalServicePort;
     }
 
@@ -38,25 +42,55 @@ public class EnrollmentUseCase implements EnrollmentServicePort {
         log.info("Processing enrollment request for user {} in bootcamp {} with messageId: {}",
                 userId, bootcampId, messageId);
 
+        // Existencia del bootcamp, duplicado, límite y solapamiento se validan de forma atómica en persistencia
         return validateUserExistsSync(userId, messageId)
-                .then(Mono.defer(() -> bootcampPersistencePort.findById(bootcampId)))
-                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)))
-                .flatMap(bootcamp -> enrollmentPersistencePort.isUserEnrolled(bootcamp.id(), userId)
-                        .flatMap(isEnrolled -> {
-                            if (isEnrolled) {
-                                log.warn("User {} is already enrolled in bootcamp {}", userId, bootcamp.id());
-                                return Mono.error(new BusinessException(TechnicalMessage.USER_ALREADY_ENROLLED));
-                            }
-                            return validateMaxBootcamps(userId)
-                                    .then(validateDateConflicts(bootcamp, userId, messageId))
-                                    .then(enrollmentPersistencePort.enrollUser(bootcampId, userId));
-                        }))
+                .then(Mono.defer(() -> enrollmentPersistencePort.enrollUser(bootcampId, userId, MAX_BOOTCAMPS_PER_USER)))
                 .doOnSuccess(enrollment -> log.info("User {} successfully enrolled in bootcamp {} with messageId: {}",
                         userId, bootcampId, messageId))
                 .doOnError(error -> log.error("Error enrolling user {} in bootcamp {} with messageId: {}",
                         userId, bootcampId, messageId, error));
     }
 
+    @Override
+    public Mono<List<EnrollmentResult>> enrollUsers(List<EnrollmentRequest> enrollments, String messageId) {
+        List<EnrollmentRequest> requested = enrollments == null ? List.of() : enrollments.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        if (requested.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        if (requested.size() > MAX_BULK_ITEMS) {
+            return Mono.error(new BusinessException(TechnicalMessage.BULK_LIMIT_EXCEEDED, "enrollments", MAX_BULK_ITEMS));
+        }
+        log.info("Processing bulk enrollment of {} pairs with messageId: {}", requested.size(), messageId);
+
+        List<Long> userIds = requested.stream()
+                .map(EnrollmentRequest::userId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return Mono.just(mergeEnrollmentResults(requested, Set.of(), List.of()));
+        }
+
+        // 1. Una sola llamada al servicio de usuarios para toda la cohorte
+        return userExternalServicePort.checkUsersExist(userIds, messageId)
+                .map(this::existingUserIds)
+                .flatMap(existingUserIds -> {
+                    List<EnrollmentRequest> enrollable = requested.stream()
+                            .filter(request -> isEnrollable(request, existingUserIds))
+                            .toList();
+                    if (enrollable.isEmpty()) {
+                        return Mono.just(mergeEnrollmentResults(requested, existingUserIds, List.of()));
+                    }
+                    // 2. Límite, duplicados y solapamiento por conjunto e inserción en lote dentro de una transacción
+                    return enrollmentPersistencePort.enrollUsers(enrollable, MAX_BOOTCAMPS_PER_USER)
+                            .map(persisted -> mergeEnrollmentResults(requested, existingUserIds, persisted));
+                })
+                .doOnSuccess(results -> log.info("Bulk enrollment finished with messageId: {}", messageId))
+                .doOnError(error -> log.error("Error in bulk enrollment with messageId: {}", messageId, error));
+    }
+
     @Override
     public Mono<Void> unenrollUserFromBootcamp(Long bootcampId, Long userId, String messageId) {
         log.info("Processing unenrollment request for user {} from bootcamp {} with messageId: {}",
@@ -76,79 +110,85 @@ public class EnrollmentUseCase implements EnrollmentServicePort {
     }
 
     @Override
-    public Flux<Bootcamp> getUserBootcamps(Long userId, String messageId) {
+    public Flux<Bootcamp> getUserBootcamps(Long userId, boolean includeCapacityIds, String messageId) {
         log.info("Getting bootcamps for user {} with messageId: {}", userId, messageId);
 
         return validateUserExistsSync(userId, messageId)
-                .thenMany(Flux.defer(() -> enrollmentPersistencePort.findBootcampsByUserId(userId)))
+                .thenMany(Flux.defer(() -> enrollmentPersistencePort.findBootcampsByUserId(userId, includeCapacityIds)))
                 .doOnComplete(() -> log.info("Successfully retrieved bootcamps for user {} with messageId: {}",
                         userId, messageId))
                 .doOnError(error -> log.error("Error getting bootcamps for user {} with messageId: {}",
                         userId, messageId, error));
     }
 
+    @Override
+    public Mono<String> getUserBootcampsVersion(Long userId, String messageId) {
+        // Sin validar el usuario: uno inexistente no tiene inscripciones y su versión nunca coincide con un ETag emitido
+        return enrollmentPersistencePort.findUserBootcampsVersion(userId);
+    }
+
+    @Override
+    public Mono<Map<Long, List<Bootcamp>>> getBootcampsByUserIds(List<Long> userIds, boolean includeCapacityIds,
+                                                                 String messageId) {
+        log.info("Getting bootcamps for {} users with messageId: {}", userIds.size(), messageId);
+
+        List<Long> distinctUserIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctUserIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (distinctUserIds.size() > MAX_BULK_ITEMS) {
+            return Mono.error(new BusinessException(TechnicalMessage.BULK_LIMIT_EXCEEDED, "userIds", MAX_BULK_ITEMS));
+        }
+        return enrollmentPersistencePort.findBootcampsByUserIds(distinctUserIds, includeCapacityIds)
+                .doOnError(error -> log.error("Error getting bootcamps for users with messageId: {}", messageId, error));
+    }
+
     @Override
     public Flux<Long> getUserIdsByBootcampId(Long bootcampId, String messageId) {
         log.info("Getting user IDs for bootcamp: {} with messageId: {}", bootcampId, messageId);
         return enrollmentPersistencePort.findUserIdsByBootcampId(bootcampId);
     }
 
-    private Mono<Void> validateMaxBootcamps(Long userId) {
-        return enrollmentPersistencePort.countEnrollmentsByUserId(userId)
-                .flatMap(count -> {
-                    if (count >= MAX_BOOTCAMPS_PER_USER) {
-                        log.warn("User {} has reached maximum bootcamp limit: {}", userId, count);
-                        return Mono.error(new BusinessException(TechnicalMessage.MAX_BOOTCAMPS_REACHED));
-                    }
-                    return Mono.empty();
-                });
+    private boolean isEnrollable(EnrollmentRequest request, Set<Long> existingUserIds) {
+        return request.bootcampId() != null && request.userId() != null && existingUserIds.contains(request.userId());
     }
 
-    private Mono<Void> validateDateConflicts(Bootcamp newBootcamp, Long userId, String messageId) {
-        log.debug("Checking date conflicts for user {} and bootcamp {}", userId, newBootcamp.id());
-
-        LocalDate newBootcampStart = newBootcamp.launchDate();
-        LocalDate newBootcampEnd = newBootcampStart.plusDays(newBootcamp.duration());
-
-        return enrollmentPersistencePort.findBootcampsByUserId(userId)
-                .collectList()
-                .flatMap(enrolledBootcamps -> {
-                    boolean hasConflict = enrolledBootcamps.stream()
-                            .anyMatch(existingBootcamp -> {
-                                LocalDate existingStart = existingBootcamp.launchDate();
-                                LocalDate existingEnd = existingStart.plusDays(existingBootcamp.duration());
-
-                                boolean overlaps = !(newBootcampEnd.isBefore(existingStart) ||
-                                                    newBootcampStart.isAfter(existingEnd));
-
-                                if (overlaps) {
-                                    log.warn("Date conflict detected for user {} between bootcamp {} ({} to {}) and bootcamp {} ({} to {})",
-                                            userId, newBootcamp.id(), newBootcampStart, newBootcampEnd,
-                                            existingBootcamp.id(), existingStart, existingEnd);
-                                }
-
-                                return overlaps;
-                            });
-
-                    if (hasConflict) {
-                        return Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_DATE_CONFLICT));
-                    }
+    /**
+     * Combina en el orden recibido los rechazos locales con los resultados de persistencia,
+     * que llegan en el mismo orden que los pares inscribibles
+     */
+    private List<EnrollmentResult> mergeEnrollmentResults(List<EnrollmentRequest> requested, Set<Long> existingUserIds,
+                                                          List<EnrollmentResult> persisted) {
+        List<EnrollmentResult> results = new ArrayList<>(requested.size());
+        Iterator<EnrollmentResult> persistedResults = persisted.iterator();
+        for (EnrollmentRequest request : requested) {
+            if (request.bootcampId() == null || request.userId() == null) {
+                results.add(new EnrollmentResult(request.bootcampId(), request.userId(), null,
+                        TechnicalMessage.INVALID_PARAMETERS));
+            } else if (!existingUserIds.contains(request.userId())) {
+                results.add(new EnrollmentResult(request.bootcampId(), request.userId(), null,
+                        TechnicalMessage.USER_NOT_FOUND));
+            } else {
+                results.add(persistedResults.next());
+            }
+        }
+        return results;
+    }
 
-                    return Mono.empty();
-                });
+    private Set<Long> existingUserIds(Map<Long, Boolean> existenceMap) {
+        Set<Long> existing = new HashSet<>();
+        existenceMap.forEach((userId, exists) -> {
+            if (Boolean.TRUE.equals(exists)) {
+                existing.add(userId);
+            }
+        });
+        return existing;
     }
 
     private Mono<Void> validateUserExistsSync(Long userId, String messageId) {
         return userExternalServicePort.checkUsersExist(List.of(userId), messageId)
                 .flatMap(existenceMap -> {
-                    Boolean exists = null;
-                    for (Object key : existenceMap.keySet()) {
-                        if (key != null && Long.valueOf(key.toString()).equals(userId)) {
-                            exists = existenceMap.get(key);
-                            break;
-                        }
-                    }
-                    if (exists == null || !exists) {
+                    if (!Boolean.TRUE.equals(existenceMap.get(userId))) {
                         log.warn("User {} does not exist (existenceMap: {})", userId, existenceMap);
                         return Mono.error(new BusinessException(TechnicalMessage.USER_NOT_FOUND));
                     }
@@ -0,0 +1,48 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Aviso de cambio que viaja entre réplicas por NOTIFY. El payload es compacto ("bootcamp:1,2,3")
+ * para respetar el límite de 8000 bytes de Postgres.
+ */
+public record CacheInvalidation(Kind kind, List<Long> ids) {
+
+    public enum Kind {
+        BOOTCAMP,
+        CAPACITY
+    }
+
+    private static final String SEPARATOR = ":";
+
+    public String toPayload() {
+        return kind.name().toLowerCase(Locale.ROOT) + SEPARATOR
+                + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Vacío si el payload no se reconoce: quien escucha debe tratarlo como una pérdida de avisos
+     */
+    public static Optional<CacheInvalidation> parse(String payload) {
+        if (payload == null) {
+            return Optional.empty();
+        }
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        try {
+            Kind kind = Kind.valueOf(payload.substring(0, separator).toUpperCase(Locale.ROOT));
+            String ids = payload.substring(separator + 1);
+            return Optional.of(new CacheInvalidation(kind, ids.isEmpty()
+                    ? List.of()
+                    : Arrays.stream(ids.split(",")).map(Long::valueOf).toList()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+/**
+ * Caché en memoria que se mantiene coherente con las escrituras de otras réplicas
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Desaloja las claves afectadas; los avisos de otro tipo se ignoran
+     */
+    void invalidate(CacheInvalidation invalidation);
+
+    /**
+     * Vacía la caché completa cuando no se puede garantizar que no se perdieron avisos
+     */
+    void invalidateAll();
+}
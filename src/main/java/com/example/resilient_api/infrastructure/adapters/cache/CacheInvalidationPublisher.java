@@ -0,0 +1,48 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.application.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publica avisos de invalidación con pg_notify. Ejecutado dentro de la transacción de la escritura,
+ * Postgres solo entrega el aviso al confirmar y lo descarta si hay rollback.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    // 19 dígitos más la coma por id: 300 ids caben holgados en los 8000 bytes de un payload
+    private static final int MAX_IDS_PER_NOTIFICATION = 300;
+
+    private final DatabaseClient databaseClient;
+    private final CacheProperties.Invalidation properties;
+
+    public CacheInvalidationPublisher(DatabaseClient databaseClient, CacheProperties.Invalidation properties) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+    }
+
+    public Mono<Void> publish(CacheInvalidation.Kind kind, Collection<Long> ids) {
+        if (!properties.isEnabled() || ids == null || ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(ids)
+                .distinct()
+                .buffer(MAX_IDS_PER_NOTIFICATION)
+                .concatMap(chunk -> notify(new CacheInvalidation(kind, List.copyOf(chunk))))
+                .then();
+    }
+
+    private Mono<Void> notify(CacheInvalidation invalidation) {
+        log.debug("Publishing cache invalidation {} for {} ids", invalidation.kind(), invalidation.ids().size());
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", properties.getChannel())
+                .bind("payload", invalidation.toPayload())
+                .then();
+    }
+}
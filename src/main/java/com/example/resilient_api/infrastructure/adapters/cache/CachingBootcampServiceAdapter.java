@@ -0,0 +1,160 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.domain.api.BootcampServicePort;
+import com.example.resilient_api.domain.model.Bootcamp;
+import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
+import com.example.resilient_api.domain.model.CursorPage;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.IdExistence;
+import com.example.resilient_api.domain.model.Page;
+import com.example.resilient_api.domain.model.PaginationRequest;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decorador de BootcampServicePort que cachea el bootcamp ya ensamblado con sus capacidades (GET /bootcamp/{id}).
+ * Las consultas concurrentes de un mismo id comparten la misma carga, y pasado refreshAfter la entrada se recarga
+ * en segundo plano mientras se sigue sirviendo la anterior. Las escrituras invalidan exactamente los ids afectados,
+ * las locales al instante y las de otras réplicas al llegar su aviso por PostgresCacheInvalidationBus.
+ */
+@Slf4j
+public class CachingBootcampServiceAdapter implements BootcampServicePort, CacheInvalidationListener {
+
+    private static final String CACHE_NAME = "bootcamp-details";
+
+    private final BootcampServicePort delegate;
+    private final AsyncLoadingCache<Long, BootcampWithCapacities> cache;
+    private final Timer loadTimer;
+
+    public CachingBootcampServiceAdapter(BootcampServicePort delegate, MeterRegistry meterRegistry,
+                                         long maximumSize, Duration ttl, Duration refreshAfter) {
+        this(delegate, meterRegistry, maximumSize, ttl, refreshAfter, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    public CachingBootcampServiceAdapter(BootcampServicePort delegate, MeterRegistry meterRegistry,
+                                         long maximumSize, Duration ttl, Duration refreshAfter,
+                                         Ticker ticker, Executor executor) {
+        this.delegate = delegate;
+        // Los refrescos no nacen de una petición: corren en el executor de la caché con su propio messageId
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((id, loadExecutor) -> load(id, "bootcamp-cache-refresh-" + UUID.randomUUID())
+                        .subscribeOn(Schedulers.fromExecutor(loadExecutor))
+                        .toFuture());
+        this.loadTimer = Timer.builder("bootcamp.cache.load")
+                .description("Tiempo de carga de un bootcamp con sus capacidades en la caché")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<BootcampWithCapacities> getBootcampById(Long id, String messageId) {
+        // suppressCancel: cancelar a un suscriptor no debe cancelar la carga compartida con otros
+        return Mono.fromFuture(() -> cache.get(id, (key, loadExecutor) -> load(key, messageId).toFuture()), true);
+    }
+
+    @Override
+    public Mono<String> getBootcampVersion(Long id, String messageId) {
+        return delegate.getBootcampVersion(id, messageId);
+    }
+
+    @Override
+    public Mono<String> getCatalogVersion(String messageId) {
+        return delegate.getCatalogVersion(messageId);
+    }
+
+    @Override
+    public Mono<Bootcamp> registerBootcamp(Bootcamp bootcamp, String messageId) {
+        return delegate.registerBootcamp(bootcamp, messageId)
+                .doOnNext(savedBootcamp -> evict(List.of(savedBootcamp.id())));
+    }
+
+    @Override
+    public Mono<List<BulkItemResult>> registerBootcamps(List<Bootcamp> bootcamps, String messageId) {
+        return delegate.registerBootcamps(bootcamps, messageId)
+                .doOnNext(results -> evict(results.stream()
+                        .map(BulkItemResult::id)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+
+    @Override
+    public Mono<IdExistence> checkBootcampsExist(List<Long> ids, String messageId) {
+        return delegate.checkBootcampsExist(ids, messageId);
+    }
+
+    @Override
+    public Mono<Page<BootcampWithCapacities>> listBootcamps(PaginationRequest paginationRequest, String messageId) {
+        return delegate.listBootcamps(paginationRequest, messageId);
+    }
+
+    @Override
+    public Mono<CursorPage<BootcampWithCapacities>> listBootcampsAfter(CursorPageRequest cursorPageRequest,
+                                                                       String messageId) {
+        return delegate.listBootcampsAfter(cursorPageRequest, messageId);
+    }
+
+    @Override
+    public Mono<Void> deleteBootcamp(Long id, String messageId) {
+        // También ante error: el borrado pudo confirmarse aunque falle la limpieza en capacity-api
+        return delegate.deleteBootcamp(id, messageId)
+                .doFinally(signal -> evict(List.of(id)));
+    }
+
+    @Override
+    public Mono<List<BulkItemResult>> deleteBootcamps(List<Long> ids, String messageId) {
+        return delegate.deleteBootcamps(ids, messageId)
+                .doFinally(signal -> evict(ids == null ? List.of() : ids.stream().filter(Objects::nonNull).toList()));
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.kind() == CacheInvalidation.Kind.BOOTCAMP) {
+            evict(invalidation.ids());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private void evict(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            cache.synchronous().invalidateAll(ids);
+        }
+    }
+
+    /**
+     * Un bootcamp inexistente falla con BOOTCAMP_NOT_FOUND desde el delegado: Caffeine descarta el futuro fallido,
+     * no guarda el error y la siguiente petición por ese id vuelve a cargarlo
+     */
+    private Mono<BootcampWithCapacities> load(Long id, String messageId) {
+        return Mono.defer(() -> {
+            log.debug("Bootcamp cache load for id {} with messageId: {}", id, messageId);
+            Timer.Sample sample = Timer.start();
+            return delegate.getBootcampById(id, messageId)
+                    .doFinally(signal -> sample.stop(loadTimer));
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.application.config.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Escucha con LISTEN los avisos publicados por CacheInvalidationPublisher en cualquier réplica
+ * y desaloja las claves afectadas en las cachés registradas.
+ * Usa una conexión dedicada fuera del pool y se reconecta con backoff si se pierde. Los avisos emitidos
+ * mientras no hay conexión se pierden, así que cada LISTEN exitoso vacía todas las cachés.
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus {
+
+    private final ConnectionFactory connectionFactory;
+    private final CacheProperties.Invalidation properties;
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+
+    private Disposable subscription;
+
+    public PostgresCacheInvalidationBus(ConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+                                        CacheProperties.Invalidation properties) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Avisos de invalidación de caché recibidos por NOTIFY")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("cache.invalidation.resyncs")
+                .description("Vaciados completos de las cachés por (re)conexión o aviso ilegible")
+                .register(meterRegistry);
+    }
+
+    public void register(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Cache invalidation bus is disabled");
+            return;
+        }
+        // transientErrors: una conexión que llegó a recibir avisos reinicia el backoff al caer
+        subscription = listen()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getMinBackoff())
+                        .maxBackoff(properties.getMaxBackoff())
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Cache invalidation listener lost, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::dispatch,
+                        error -> log.error("Cache invalidation listener stopped, caches rely on their TTL", error));
+    }
+
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<String> listen() {
+        return Flux.usingWhen(
+                Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + properties.getChannel())
+                        .execute()
+                        .flatMap(PostgresqlResult::getRowsUpdated)
+                        .then(Mono.fromRunnable(() -> resync("listening on channel " + properties.getChannel())))
+                        .thenMany(connection.getNotifications())
+                        .mapNotNull(Notification::getParameter)
+                        // El flujo de avisos solo termina si se cerró la conexión: se trata como fallo para reconectar
+                        .concatWith(Mono.error(() -> new IllegalStateException("Notification stream closed"))),
+                Connection::close);
+    }
+
+    private void dispatch(String payload) {
+        receivedCounter.increment();
+        CacheInvalidation.parse(payload).ifPresentOrElse(
+                invalidation -> notifyListeners(listener -> listener.invalidate(invalidation)),
+                () -> resync("unreadable payload " + payload));
+    }
+
+    private void resync(String reason) {
+        log.info("Flushing {} caches: {}", listeners.size(), reason);
+        resyncCounter.increment();
+        notifyListeners(CacheInvalidationListener::invalidateAll);
+    }
+
+    /**
+     * Un listener que falla no debe cortar la suscripción ni dejar sin aviso a los demás
+     */
+    private void notifyListeners(Consumer<CacheInvalidationListener> action) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.domain.api.BootcampServicePort;
+import com.example.resilient_api.domain.model.Bootcamp;
+import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
+import com.example.resilient_api.domain.model.CursorPage;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.IdExistence;
+import com.example.resilient_api.domain.model.Page;
+import com.example.resilient_api.domain.model.PaginationRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de BootcampServicePort que colapsa lecturas idénticas en curso (single-flight): si ya hay una
+ * consulta con los mismos parámetros ejecutándose, las nuevas se suscriben a su resultado en lugar de repetir
+ * base de datos y capacity-api. El resultado solo se comparte mientras la consulta está en curso; la siguiente
+ * petición tras completarse vuelve a ejecutarse.
+ * Las peticiones colapsadas reutilizan la ejecución de la primera, incluido su messageId en los logs.
+ * Tras una escritura, local o avisada por otra réplica, las lecturas en curso dejan de admitir nuevas
+ * peticiones: las que llegan después no reciben un resultado consultado antes del cambio.
+ */
+@Slf4j
+public class SingleFlightBootcampServiceAdapter implements BootcampServicePort, CacheInvalidationListener {
+
+    private final BootcampServicePort delegate;
+    private final Map<FlightKey, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter collapsedCounter;
+
+    public SingleFlightBootcampServiceAdapter(BootcampServicePort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executedCounter = Counter.builder("bootcamp.read.singleflight")
+                .description("Lecturas de bootcamps según se ejecutaron o se colapsaron en una idéntica en curso")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("bootcamp.read.singleflight")
+                .description("Lecturas de bootcamps según se ejecutaron o se colapsaron en una idéntica en curso")
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("bootcamp.read.singleflight.inflight", Tags.empty(), inFlight);
+    }
+
+    @Override
+    public Mono<BootcampWithCapacities> getBootcampById(Long id, String messageId) {
+        return singleFlight(new FlightKey("getBootcampById", id),
+                () -> delegate.getBootcampById(id, messageId), messageId);
+    }
+
+    @Override
+    public Mono<Page<BootcampWithCapacities>> listBootcamps(PaginationRequest paginationRequest, String messageId) {
+        return singleFlight(new FlightKey("listBootcamps", paginationRequest),
+                () -> delegate.listBootcamps(paginationRequest, messageId), messageId);
+    }
+
+    @Override
+    public Mono<CursorPage<BootcampWithCapacities>> listBootcampsAfter(CursorPageRequest cursorPageRequest,
+                                                                       String messageId) {
+        return singleFlight(new FlightKey("listBootcampsAfter", cursorPageRequest),
+                () -> delegate.listBootcampsAfter(cursorPageRequest, messageId), messageId);
+    }
+
+    @Override
+    public Mono<String> getBootcampVersion(Long id, String messageId) {
+        return delegate.getBootcampVersion(id, messageId);
+    }
+
+    @Override
+    public Mono<String> getCatalogVersion(String messageId) {
+        return delegate.getCatalogVersion(messageId);
+    }
+
+    @Override
+    public Mono<Bootcamp> registerBootcamp(Bootcamp bootcamp, String messageId) {
+        return delegate.registerBootcamp(bootcamp, messageId)
+                .doFinally(signal -> forgetInFlight());
+    }
+
+    @Override
+    public Mono<List<BulkItemResult>> registerBootcamps(List<Bootcamp> bootcamps, String messageId) {
+        return delegate.registerBootcamps(bootcamps, messageId)
+                .doFinally(signal -> forgetInFlight());
+    }
+
+    @Override
+    public Mono<IdExistence> checkBootcampsExist(List<Long> ids, String messageId) {
+        return delegate.checkBootcampsExist(ids, messageId);
+    }
+
+    @Override
+    public Mono<Void> deleteBootcamp(Long id, String messageId) {
+        return delegate.deleteBootcamp(id, messageId)
+                .doFinally(signal -> forgetInFlight());
+    }
+
+    @Override
+    public Mono<List<BulkItemResult>> deleteBootcamps(List<Long> ids, String messageId) {
+        return delegate.deleteBootcamps(ids, messageId)
+                .doFinally(signal -> forgetInFlight());
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        forgetInFlight();
+    }
+
+    @Override
+    public void invalidateAll() {
+        forgetInFlight();
+    }
+
+    /**
+     * Las ejecuciones retiradas siguen entregando su resultado a quienes ya estaban suscritos
+     */
+    private void forgetInFlight() {
+        inFlight.clear();
+    }
+
+    /**
+     * share() hace la ejecución no cancelable por un suscriptor aislado: si el cliente que la inició se
+     * desconecta, las peticiones colapsadas siguen recibiendo el resultado. La entrada se retira al terminar,
+     * solo si sigue siendo la suya: una ejecución olvidada por una escritura termina después de que otra más
+     * reciente ocupe la misma clave y no debe desalojarla.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> singleFlight(FlightKey key, Supplier<Mono<T>> call, String messageId) {
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<T> flight = (Mono<T>) inFlight.computeIfAbsent(key, flightKey -> {
+                leader.set(true);
+                AtomicReference<Mono<T>> self = new AtomicReference<>();
+                Mono<T> shared = Mono.defer(call)
+                        .doFinally(signal -> inFlight.remove(flightKey, self.get()))
+                        .share();
+                self.set(shared);
+                return shared;
+            });
+            if (leader.get()) {
+                executedCounter.increment();
+            } else {
+                collapsedCounter.increment();
+                log.debug("Collapsed {} into in-flight read with messageId: {}", key.operation(), messageId);
+            }
+            return flight;
+        });
+    }
+
+    private record FlightKey(String operation, Object arguments) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Decorador de CapacityExternalServicePort que agrupa (micro-batching) las consultas de capacidades
+ * con tecnologías de todas las peticiones en curso. Las consultas se acumulan durante una ventana
+ * corta o hasta alcanzar el tamaño máximo de lote, se envía una única llamada con los IDs sin
+ * duplicados y cada solicitante recibe solo las capacidades que pidió.
+ * <p>
+ * Un solicitante que cancela antes del envío sale del lote pendiente; si cancelan todos los de un lote
+ * ya enviado, se cancela la llamada. La llamada agrupada viaja con el messageId y el Context de Reactor
+ * (trazas, autenticación) del primer solicitante; los messageId del resto se registran en el log del envío.
+ */
+@Slf4j
+public class BatchingCapacityExternalServiceAdapter implements CapacityExternalServicePort {
+
+    private final CapacityExternalServicePort delegate;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+
+    private final DistributionSummary batchSizeSummary;
+    private final DistributionSummary batchRequestsSummary;
+    private final Timer waitTimer;
+
+    private final Object lock = new Object();
+    private List<PendingLookup> pending = new ArrayList<>();
+    private Set<Long> pendingIds = new LinkedHashSet<>();
+    private Disposable scheduledFlush;
+
+    public BatchingCapacityExternalServiceAdapter(CapacityExternalServicePort delegate, MeterRegistry meterRegistry,
+                                                  Duration window, int maxBatchSize) {
+        this(delegate, meterRegistry, window, maxBatchSize, Schedulers.parallel());
+    }
+
+    public BatchingCapacityExternalServiceAdapter(CapacityExternalServicePort delegate, MeterRegistry meterRegistry,
+                                                  Duration window, int maxBatchSize, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.batchSizeSummary = DistributionSummary.builder("capacity.batch.size")
+                .description("IDs distintos enviados por llamada agrupada al servicio de capacidades")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchRequestsSummary = DistributionSummary.builder("capacity.batch.requests")
+                .description("Consultas agrupadas en una misma llamada al servicio de capacidades")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("capacity.batch.wait")
+                .description("Tiempo de espera de una consulta hasta el envío de su lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Map<Long, Boolean>> checkCapacitiesExist(List<Long> capacityIds, String messageId) {
+        return delegate.checkCapacitiesExist(capacityIds, messageId);
+    }
+
+    @Override
+    public Flux<CapacitySummary> getCapacitiesByIds(List<Long> capacityIds, String messageId) {
+        return delegate.getCapacitiesByIds(capacityIds, messageId);
+    }
+
+    @Override
+    public Flux<CapacitySummary> getCapacitiesWithTechnologies(List<Long> capacityIds, String messageId) {
+        if (capacityIds == null || capacityIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return Mono.<Map<Long, CapacitySummary>>create(sink -> {
+                    PendingLookup lookup = new PendingLookup(capacityIds, messageId, sink, System.nanoTime());
+                    sink.onDispose(() -> discard(lookup));
+                    enqueue(lookup);
+                })
+                .flatMapIterable(capacitiesById -> capacityIds.stream()
+                        .distinct()
+                        .map(capacitiesById::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    @Override
+    public Mono<Void> deleteCapacitiesByIds(List<Long> capacityIds, String messageId) {
+        return delegate.deleteCapacitiesByIds(capacityIds, messageId);
+    }
+
+    private void enqueue(PendingLookup lookup) {
+        List<PendingLookup> batch = null;
+        synchronized (lock) {
+            pending.add(lookup);
+            pendingIds.addAll(lookup.capacityIds());
+            if (pendingIds.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Saca del lote pendiente a un solicitante que ya no espera respuesta (cancelación o fin);
+     * si su lote ya se envió, libera su parte de la llamada en curso
+     */
+    private void discard(PendingLookup lookup) {
+        synchronized (lock) {
+            if (pending.remove(lookup)) {
+                pendingIds = new LinkedHashSet<>();
+                pending.forEach(remaining -> pendingIds.addAll(remaining.capacityIds()));
+                if (pending.isEmpty() && scheduledFlush != null) {
+                    scheduledFlush.dispose();
+                    scheduledFlush = null;
+                }
+                return;
+            }
+        }
+        if (lookup.inFlight != null) {
+            lookup.inFlight.release();
+        }
+    }
+
+    private void flush() {
+        List<PendingLookup> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private List<PendingLookup> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<PendingLookup> batch = pending;
+        // Asignado bajo el lock: discard ve o la consulta en pending o su lote en curso
+        InFlightBatch inFlight = new InFlightBatch(batch.size());
+        batch.forEach(lookup -> lookup.inFlight = inFlight);
+        pending = new ArrayList<>();
+        pendingIds = new LinkedHashSet<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (PendingLookup lookup : batch) {
+            distinctIds.addAll(lookup.capacityIds());
+            waitTimer.record(now - lookup.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        batchSizeSummary.record(distinctIds.size());
+        batchRequestsSummary.record(batch.size());
+
+        PendingLookup first = batch.get(0);
+        String messageId = first.messageId();
+        log.debug("Dispatching capacity batch of {} ids for {} lookups with messageId: {}, merged messageIds: {}",
+                distinctIds.size(), batch.size(), messageId,
+                batch.stream().map(PendingLookup::messageId).distinct().toList());
+
+        first.inFlight.call.update(delegate.getCapacitiesWithTechnologies(List.copyOf(distinctIds), messageId)
+                .collectMap(CapacitySummary::id, Function.identity())
+                .contextWrite(first.sink().contextView())
+                .subscribe(
+                        capacitiesById -> batch.forEach(lookup -> lookup.sink().success(capacitiesById)),
+                        error -> batch.forEach(lookup -> lookup.sink().error(error))
+                ));
+    }
+
+    private static final class PendingLookup {
+        private final List<Long> capacityIds;
+        private final String messageId;
+        private final MonoSink<Map<Long, CapacitySummary>> sink;
+        private final long enqueuedAt;
+        private InFlightBatch inFlight;
+
+        private PendingLookup(List<Long> capacityIds, String messageId,
+                              MonoSink<Map<Long, CapacitySummary>> sink, long enqueuedAt) {
+            this.capacityIds = capacityIds;
+            this.messageId = messageId;
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private List<Long> capacityIds() {
+            return capacityIds;
+        }
+
+        private String messageId() {
+            return messageId;
+        }
+
+        private MonoSink<Map<Long, CapacitySummary>> sink() {
+            return sink;
+        }
+
+        private long enqueuedAt() {
+            return enqueuedAt;
+        }
+    }
+
+    /**
+     * Llamada de un lote enviado; se cancela cuando ninguno de sus solicitantes espera ya la respuesta
+     */
+    private static final class InFlightBatch {
+        private final AtomicInteger waiting;
+        private final Disposable.Swap call = Disposables.swap();
+
+        private InFlightBatch(int lookups) {
+            this.waiting = new AtomicInteger(lookups);
+        }
+
+        private void release() {
+            if (waiting.decrementAndGet() == 0) {
+                call.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidation;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidationListener;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Decorador de CapacityExternalServicePort que cachea las capacidades con sus tecnologías por ID.
+ * Solo consulta al servicio externo los IDs ausentes (en una sola llamada) y las consultas
+ * concurrentes de un mismo ID comparten la misma petición en curso.
+ */
+@Slf4j
+public class CachingCapacityExternalServiceAdapter implements CapacityExternalServicePort, CacheInvalidationListener {
+
+    private static final String CACHE_NAME = "capacity-summaries";
+
+    private final CapacityExternalServicePort delegate;
+    private final AsyncCache<Long, CapacitySummary> cache;
+    private final Timer loadTimer;
+
+    public CachingCapacityExternalServiceAdapter(CapacityExternalServicePort delegate, MeterRegistry meterRegistry,
+                                                 long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.loadTimer = Timer.builder("capacity.cache.load")
+                .description("Tiempo de carga de capacidades ausentes en la caché")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Map<Long, Boolean>> checkCapacitiesExist(List<Long> capacityIds, String messageId) {
+        return delegate.checkCapacitiesExist(capacityIds, messageId);
+    }
+
+    @Override
+    public Flux<CapacitySummary> getCapacitiesByIds(List<Long> capacityIds, String messageId) {
+        return delegate.getCapacitiesByIds(capacityIds, messageId);
+    }
+
+    @Override
+    public Flux<CapacitySummary> getCapacitiesWithTechnologies(List<Long> capacityIds, String messageId) {
+        if (capacityIds == null || capacityIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        // suppressCancel: cancelar a un suscriptor no debe cancelar la carga compartida con otros
+        return Mono.fromFuture(() -> cache.getAll(capacityIds, (missingIds, executor) ->
+                                loadMissing(List.copyOf(missingIds), messageId).toFuture()), true)
+                .flatMapIterable(capacitiesById -> capacityIds.stream()
+                        .distinct()
+                        .map(capacitiesById::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    @Override
+    public Mono<Void> deleteCapacitiesByIds(List<Long> capacityIds, String messageId) {
+        return delegate.deleteCapacitiesByIds(capacityIds, messageId)
+                .doFinally(signal -> cache.synchronous().invalidateAll(capacityIds));
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.kind() == CacheInvalidation.Kind.CAPACITY) {
+            cache.synchronous().invalidateAll(invalidation.ids());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private Mono<Map<Long, CapacitySummary>> loadMissing(List<Long> missingIds, String messageId) {
+        log.debug("Capacity cache miss for {} ids with messageId: {}", missingIds.size(), messageId);
+        Timer.Sample sample = Timer.start();
+        return delegate.getCapacitiesWithTechnologies(missingIds, messageId)
+                .collectMap(CapacitySummary::id, Function.identity())
+                .doFinally(signal -> sample.stop(loadTimer));
+    }
+}
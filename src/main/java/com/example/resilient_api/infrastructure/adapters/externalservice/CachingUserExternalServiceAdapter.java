@@ -0,0 +1,108 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decorador de UserExternalServicePort que cachea la existencia de usuarios por ID.
+ * Los usuarios existentes se conservan más tiempo que los inexistentes, que pueden darse de alta en cualquier
+ * momento. Solo los IDs ausentes se consultan al servicio de usuarios, en una única llamada.
+ */
+@Slf4j
+public class CachingUserExternalServiceAdapter implements UserExternalServicePort {
+
+    private static final String CACHE_NAME = "user-existence";
+
+    private final UserExternalServicePort delegate;
+    private final AsyncCache<Long, Boolean> cache;
+    private final Timer loadTimer;
+
+    public CachingUserExternalServiceAdapter(UserExternalServicePort delegate, MeterRegistry meterRegistry,
+                                             long maximumSize, Duration positiveTtl, Duration negativeTtl) {
+        this(delegate, meterRegistry, maximumSize, positiveTtl, negativeTtl, Ticker.systemTicker());
+    }
+
+    public CachingUserExternalServiceAdapter(UserExternalServicePort delegate, MeterRegistry meterRegistry,
+                                             long maximumSize, Duration positiveTtl, Duration negativeTtl,
+                                             Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExistenceExpiry(positiveTtl, negativeTtl))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+        this.loadTimer = Timer.builder("user.cache.load")
+                .description("Tiempo de consulta al servicio de usuarios de los IDs ausentes en la caché")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Map<Long, Boolean>> checkUsersExist(List<Long> userIds, String messageId) {
+        List<Long> distinctUserIds = userIds == null ? List.of() : userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctUserIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        // suppressCancel: cancelar a un suscriptor no debe cancelar la carga compartida con otros
+        return Mono.fromFuture(() -> cache.getAll(distinctUserIds, (missingIds, executor) ->
+                loadMissing(List.copyOf(missingIds), messageId).toFuture()), true);
+    }
+
+    /**
+     * Todo ID consultado recibe un valor: los que el servicio no devuelve se guardan como inexistentes
+     * (caché negativa) en lugar de volver a consultarse en cada petición
+     */
+    private Mono<Map<Long, Boolean>> loadMissing(List<Long> missingIds, String messageId) {
+        log.debug("User existence cache miss for {} ids with messageId: {}", missingIds.size(), messageId);
+        Timer.Sample sample = Timer.start();
+        return delegate.checkUsersExist(missingIds, messageId)
+                .defaultIfEmpty(Map.of())
+                .map(existenceMap -> toExistence(missingIds, existenceMap))
+                .doFinally(signal -> sample.stop(loadTimer));
+    }
+
+    private Map<Long, Boolean> toExistence(List<Long> missingIds, Map<Long, Boolean> existenceMap) {
+        Map<Long, Boolean> existence = new LinkedHashMap<>(missingIds.size() * 2);
+        for (Long userId : missingIds) {
+            existence.put(userId, Boolean.TRUE.equals(existenceMap.get(userId)));
+        }
+        return existence;
+    }
+
+    private record ExistenceExpiry(Duration positiveTtl, Duration negativeTtl) implements Expiry<Long, Boolean> {
+
+        @Override
+        public long expireAfterCreate(Long userId, Boolean exists, long currentTime) {
+            return (Boolean.TRUE.equals(exists) ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.resilient_api.infrastructure.adapters.outbox;
+
+import com.example.resilient_api.application.config.OutboxProperties;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.CapacityCleanupOutboxEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.CapacityCleanupOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega a capacity-api los borrados de capacidades huérfanas registrados junto con el borrado del bootcamp.
+ * Cada flush reclama con un lease un lote de filas (FOR UPDATE SKIP LOCKED, seguro con varias réplicas) y pide
+ * el borrado de todas sus capacidades en una sola llamada, fuera de transacción. Si la llamada tiene éxito se
+ * borran las filas; si falla, el lote se reprograma con backoff y, agotados los intentos, queda aparcado.
+ * El borrado en capacity-api es idempotente: si falla el borrado de las filas, el lease vence y el lote se
+ * reenvía sin efectos adicionales.
+ */
+@Component
+@Slf4j
+public class CapacityCleanupOutboxRelay {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    private final CapacityCleanupOutboxRepository capacityCleanupOutboxRepository;
+    private final CapacityExternalServicePort capacityExternalServicePort;
+    private final OutboxProperties.CapacityCleanup properties;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final Counter deletedCounter;
+    private final Counter failureCounter;
+    private final Counter parkedCounter;
+
+    private Disposable subscription;
+
+    public CapacityCleanupOutboxRelay(CapacityCleanupOutboxRepository capacityCleanupOutboxRepository,
+                                      CapacityExternalServicePort capacityExternalServicePort,
+                                      MeterRegistry meterRegistry,
+                                      OutboxProperties outboxProperties) {
+        this.capacityCleanupOutboxRepository = capacityCleanupOutboxRepository;
+        this.capacityExternalServicePort = capacityExternalServicePort;
+        this.properties = outboxProperties.getCapacityCleanup();
+        meterRegistry.gauge("capacity.cleanup.outbox.depth", depth);
+        meterRegistry.gauge("capacity.cleanup.outbox.parked", parked);
+        this.deletedCounter = Counter.builder("capacity.cleanup.outbox.deleted")
+                .description("Capacidades huérfanas borradas en capacity-api")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("capacity.cleanup.outbox.failures")
+                .description("Lotes de borrado de capacidades o flushes del outbox fallidos")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("capacity.cleanup.outbox.parks")
+                .description("Lotes aparcados tras agotar los intentos de borrado")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            log.info("Capacity cleanup outbox relay is disabled");
+            return;
+        }
+        // concatMap + onBackpressureDrop: nunca hay dos flushes simultáneos en esta instancia
+        subscription = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Vacía el outbox lote a lote mientras los lotes vengan completos
+     */
+    Mono<Void> drain() {
+        return flushOnce()
+                .expand(claimed -> claimed >= properties.getBatchSize() ? flushOnce() : Mono.empty())
+                .then(Mono.defer(capacityCleanupOutboxRepository::countPending))
+                .doOnNext(depth::set)
+                .then(Mono.defer(capacityCleanupOutboxRepository::countParked))
+                .doOnNext(parked::set)
+                .then()
+                .onErrorResume(error -> {
+                    failureCounter.increment();
+                    log.error("Error flushing capacity cleanup outbox, pending rows will be retried", error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Integer> flushOnce() {
+        String messageId = "capacity-cleanup-" + UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        return capacityCleanupOutboxRepository.claimBatch(properties.getBatchSize(), now, now.plus(properties.getLease()))
+                .collectList()
+                .flatMap(rows -> rows.isEmpty()
+                        ? Mono.just(0)
+                        : deleteCapacities(rows, messageId).thenReturn(rows.size()));
+    }
+
+    private Mono<Void> deleteCapacities(List<CapacityCleanupOutboxEntity> rows, String messageId) {
+        List<Long> ids = rows.stream().map(CapacityCleanupOutboxEntity::getId).toList();
+        List<Long> capacityIds = rows.stream().map(CapacityCleanupOutboxEntity::getCapacityId).distinct().toList();
+        log.debug("Deleting {} orphan capacities in capacity-api with messageId: {}", capacityIds.size(), messageId);
+
+        return capacityExternalServicePort.deleteCapacitiesByIds(capacityIds, messageId)
+                .thenReturn(true)
+                .onErrorResume(error -> recordFailure(rows, error).thenReturn(false))
+                .flatMap(deleted -> {
+                    if (!deleted) {
+                        return Mono.empty();
+                    }
+                    deletedCounter.increment(capacityIds.size());
+                    return capacityCleanupOutboxRepository.deleteClaimed(ids).then();
+                });
+    }
+
+    private Mono<Void> recordFailure(List<CapacityCleanupOutboxEntity> rows, Throwable error) {
+        failureCounter.increment();
+        int attempts = rows.stream().mapToInt(CapacityCleanupOutboxEntity::getAttempts).max().orElse(0) + 1;
+        List<Long> ids = rows.stream().map(CapacityCleanupOutboxEntity::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (attempts >= properties.getMaxAttempts()) {
+            parkedCounter.increment();
+            log.error("Parking {} capacity cleanup rows after {} failed attempts", ids.size(), attempts, error);
+            return capacityCleanupOutboxRepository.recordFailure(ids, attempts, describe(error), null, now).then();
+        }
+        Duration backoff = retryBackoff(attempts);
+        log.warn("Orphan capacity cleanup of {} rows failed (attempt {}), retrying in {}: {}",
+                ids.size(), attempts, backoff, error.getMessage());
+        return capacityCleanupOutboxRepository.recordFailure(ids, attempts, describe(error), now.plus(backoff), null).then();
+    }
+
+    private Duration retryBackoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private static String describe(Throwable error) {
+        String description = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return description.length() > LAST_ERROR_MAX_LENGTH ? description.substring(0, LAST_ERROR_MAX_LENGTH) : description;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.resilient_api.infrastructure.adapters.outbox;
+
+import com.example.resilient_api.application.config.OutboxProperties;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.MetricsOutboxEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
+import com.example.resilient_api.infrastructure.adapters.webclient.MetricsWebClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drena el outbox de reportes de métricas en segundo plano.
+ * Cada flush reclama con un lease un lote de filas (FOR UPDATE SKIP LOCKED, seguro con varias réplicas)
+ * en una sentencia que se confirma sola, y envía después, fuera de transacción, un único reporte por
+ * bootcamp distinto. Cada bootcamp se resuelve por separado: si su envío tiene éxito se borran sus filas
+ * reclamadas; si falla se reprograma con backoff y, agotados los intentos, sus filas quedan aparcadas.
+ * Si el envío tuvo éxito pero el borrado falla, el reporte no se reenvía: el borrado se reintenta en los
+ * siguientes flushes mientras el lease mantiene las filas fuera de otros reclamos.
+ * <p>
+ * Los disparos de un mismo bootcamp se acumulan como filas (el insert nunca bloquea a la inscripción)
+ * y se fusionan en un solo reporte cuando el bootcamp cumple el periodo de calma o la demora máxima.
+ */
+@Component
+@Slf4j
+public class MetricsOutboxRelay {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    private final MetricsOutboxRepository metricsOutboxRepository;
+    private final MetricsWebClient metricsWebClient;
+    private final OutboxProperties.Metrics properties;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    /** Filas ya reportadas cuyo borrado falló; se reintenta al inicio de cada flush */
+    private final Queue<List<Long>> unacknowledged = new ConcurrentLinkedQueue<>();
+    private final Timer flushTimer;
+    private final Counter failureCounter;
+    private final Counter parkedCounter;
+    private final Counter reportCounter;
+    private final Counter triggerCounter;
+    private final Counter mergedTriggerCounter;
+    private final Counter acknowledgeFailureCounter;
+
+    private Disposable subscription;
+
+    public MetricsOutboxRelay(MetricsOutboxRepository metricsOutboxRepository,
+                              MetricsWebClient metricsWebClient,
+                              MeterRegistry meterRegistry,
+                              OutboxProperties outboxProperties) {
+        this.metricsOutboxRepository = metricsOutboxRepository;
+        this.metricsWebClient = metricsWebClient;
+        this.properties = outboxProperties.getMetrics();
+        meterRegistry.gauge("metrics.outbox.depth", depth);
+        meterRegistry.gauge("metrics.outbox.parked", parked);
+        this.flushTimer = Timer.builder("metrics.outbox.flush")
+                .description("Duración de cada flush del outbox de métricas")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("metrics.outbox.failures")
+                .description("Reportes de bootcamp o flushes del outbox de métricas fallidos")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("metrics.outbox.parks")
+                .description("Bootcamps aparcados tras agotar los intentos de reporte")
+                .register(meterRegistry);
+        this.reportCounter = Counter.builder("metrics.outbox.reports")
+                .description("Reportes de bootcamp enviados al servicio de métricas")
+                .register(meterRegistry);
+        this.triggerCounter = Counter.builder("metrics.outbox.triggers")
+                .description("Disparos de reporte consumidos del outbox")
+                .register(meterRegistry);
+        this.mergedTriggerCounter = Counter.builder("metrics.outbox.triggers.merged")
+                .description("Disparos fusionados en un reporte ya pendiente del mismo bootcamp")
+                .register(meterRegistry);
+        this.acknowledgeFailureCounter = Counter.builder("metrics.outbox.ack.failures")
+                .description("Borrados de filas ya reportadas que fallaron y se reintentan sin reenviar")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            log.info("Metrics outbox relay is disabled");
+            return;
+        }
+        // concatMap + onBackpressureDrop: nunca hay dos flushes simultáneos en esta instancia
+        subscription = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Vacía el outbox lote a lote mientras los lotes vengan completos (batchSize bootcamps distintos)
+     */
+    Mono<Void> drain() {
+        return retryAcknowledgements()
+                .then(flushOnce())
+                .expand(claimed -> claimed >= properties.getBatchSize() ? flushOnce() : Mono.empty())
+                .then(Mono.defer(metricsOutboxRepository::countPending))
+                .doOnNext(depth::set)
+                .then(Mono.defer(metricsOutboxRepository::countParked))
+                .doOnNext(parked::set)
+                .then()
+                .onErrorResume(error -> {
+                    failureCounter.increment();
+                    log.error("Error flushing metrics outbox, pending rows will be retried", error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Integer> flushOnce() {
+        String messageId = "metrics-outbox-" + UUID.randomUUID();
+        Timer.Sample sample = Timer.start();
+
+        LocalDateTime now = LocalDateTime.now();
+        return metricsOutboxRepository.claimBatch(properties.getBatchSize(),
+                        now.minus(properties.getQuietPeriod()), now.minus(properties.getMaxDelay()),
+                        now, now.plus(properties.getLease()))
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    Map<Long, List<MetricsOutboxEntity>> claims = rows.stream()
+                            .collect(Collectors.groupingBy(MetricsOutboxEntity::getBootcampId,
+                                    LinkedHashMap::new, Collectors.toList()));
+                    log.debug("Flushing {} outbox rows as {} bootcamp reports with messageId: {}",
+                            rows.size(), claims.size(), messageId);
+                    return sendReports(claims, messageId)
+                            .doOnSuccess(v -> sample.stop(flushTimer))
+                            .thenReturn(claims.size());
+                });
+    }
+
+    /**
+     * Con el endpoint en bloque un solo envío cubre el lote; si el envío falla, cada bootcamp se reintenta por
+     * separado para que un bootcamp envenenado no arrastre al resto
+     */
+    private Mono<Void> sendReports(Map<Long, List<MetricsOutboxEntity>> claims, String messageId) {
+        if (!properties.isBulkEndpoint()) {
+            return sendEach(claims, messageId);
+        }
+        return metricsWebClient.registerBootcampReports(List.copyOf(claims.keySet()), messageId)
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    log.warn("Bulk metrics report failed with messageId: {}, sending {} reports one by one",
+                            messageId, claims.size(), error);
+                    return Mono.just(false);
+                })
+                .flatMap(delivered -> delivered ? acknowledge(claims.values()) : sendEach(claims, messageId));
+    }
+
+    private Mono<Void> sendEach(Map<Long, List<MetricsOutboxEntity>> claims, String messageId) {
+        return Flux.fromIterable(claims.entrySet())
+                .flatMap(claim -> sendReport(claim.getKey(), claim.getValue(), messageId),
+                        properties.getSendConcurrency())
+                .then();
+    }
+
+    private Mono<Void> sendReport(Long bootcampId, List<MetricsOutboxEntity> rows, String messageId) {
+        return metricsWebClient.registerBootcampReport(bootcampId, messageId)
+                .thenReturn(true)
+                .onErrorResume(error -> recordFailure(bootcampId, rows, error).thenReturn(false))
+                .flatMap(delivered -> delivered ? acknowledge(List.of(rows)) : Mono.empty());
+    }
+
+    /**
+     * Borra solo las filas reclamadas: los disparos llegados durante el envío generan el siguiente reporte.
+     * Un fallo del borrado no se propaga: el reporte ya se entregó y solo queda pendiente el borrado
+     */
+    private Mono<Void> acknowledge(Collection<List<MetricsOutboxEntity>> reports) {
+        List<Long> ids = reports.stream().flatMap(List::stream).map(MetricsOutboxEntity::getId).toList();
+        reportCounter.increment(reports.size());
+        triggerCounter.increment(ids.size());
+        mergedTriggerCounter.increment(ids.size() - reports.size());
+        return metricsOutboxRepository.deleteClaimed(ids)
+                .then()
+                .onErrorResume(error -> deferAcknowledgement(ids, error));
+    }
+
+    private Mono<Void> retryAcknowledgements() {
+        List<List<Long>> pending = new ArrayList<>();
+        for (List<Long> ids = unacknowledged.poll(); ids != null; ids = unacknowledged.poll()) {
+            pending.add(ids);
+        }
+        return Flux.fromIterable(pending)
+                .concatMap(ids -> metricsOutboxRepository.deleteClaimed(ids)
+                        .doOnSuccess(deleted -> log.info("Acknowledged {} previously reported outbox rows", ids.size()))
+                        .then()
+                        .onErrorResume(error -> deferAcknowledgement(ids, error)))
+                .then();
+    }
+
+    private Mono<Void> deferAcknowledgement(List<Long> ids, Throwable error) {
+        acknowledgeFailureCounter.increment();
+        unacknowledged.add(ids);
+        log.warn("Could not delete {} reported outbox rows, retrying the delete on the next flush: {}",
+                ids.size(), error.getMessage());
+        return Mono.empty();
+    }
+
+    private Mono<Void> recordFailure(Long bootcampId, List<MetricsOutboxEntity> rows, Throwable error) {
+        failureCounter.increment();
+        int attempts = rows.stream().mapToInt(MetricsOutboxEntity::getAttempts).max().orElse(0) + 1;
+        List<Long> ids = rows.stream().map(MetricsOutboxEntity::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (attempts >= properties.getMaxAttempts()) {
+            parkedCounter.increment();
+            log.error("Parking {} outbox rows of bootcampId: {} after {} failed attempts",
+                    ids.size(), bootcampId, attempts, error);
+            return metricsOutboxRepository.recordFailure(ids, attempts, describe(error), null, now).then();
+        }
+        Duration backoff = retryBackoff(attempts);
+        log.warn("Metrics report for bootcampId: {} failed (attempt {}), retrying in {}: {}",
+                bootcampId, attempts, backoff, error.getMessage());
+        return metricsOutboxRepository.recordFailure(ids, attempts, describe(error), now.plus(backoff), null).then();
+    }
+
+    private Duration retryBackoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private static String describe(Throwable error) {
+        String description = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return description.length() > LAST_ERROR_MAX_LENGTH ? description.substring(0, LAST_ERROR_MAX_LENGTH) : description;
+    }
+}
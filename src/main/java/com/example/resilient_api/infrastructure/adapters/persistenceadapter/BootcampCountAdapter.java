@@ -0,0 +1,123 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.application.config.PaginationProperties;
+import com.example.resilient_api.domain.model.TotalCount;
+import com.example.resilient_api.domain.spi.BootcampCountPort;
+import com.example.resilient_api.domain.spi.BootcampPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidation;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total de bootcamps para los listados sin un COUNT(*) por petición.
+ * En modo CACHED el total vive en memoria: un aviso BOOTCAMP de cualquier réplica, incluida esta, lo descarta
+ * para que la siguiente lectura vuelva a contar, y una resincronización periódica corrige los avisos perdidos. En modo ESTIMATE se usa pg_class.reltuples
+ * cuando la tabla supera el umbral configurado.
+ */
+@Slf4j
+public class BootcampCountAdapter implements BootcampCountPort, CacheInvalidationListener {
+
+    private static final long NOT_LOADED = -1L;
+    private static final String ESTIMATE_QUERY = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'bootcamp'::regclass";
+
+    private final BootcampPersistencePort bootcampPersistencePort;
+    private final DatabaseClient databaseClient;
+    private final PaginationProperties.Count properties;
+
+    private final AtomicLong cachedTotal = new AtomicLong(NOT_LOADED);
+    private final AtomicLong generation = new AtomicLong();
+    private Disposable resyncSubscription;
+
+    public BootcampCountAdapter(BootcampPersistencePort bootcampPersistencePort,
+                                DatabaseClient databaseClient,
+                                PaginationProperties.Count properties) {
+        this.bootcampPersistencePort = bootcampPersistencePort;
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+    }
+
+    public void start() {
+        if (properties.getMode() != PaginationProperties.CountMode.CACHED) {
+            return;
+        }
+        resyncSubscription = Flux.interval(properties.getResyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> resync()
+                        .onErrorResume(error -> {
+                            log.warn("Error resyncing bootcamp total count, keeping cached value", error);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    public void stop() {
+        if (resyncSubscription != null) {
+            resyncSubscription.dispose();
+        }
+    }
+
+    @Override
+    public Mono<TotalCount> totalBootcamps() {
+        return switch (properties.getMode()) {
+            case EXACT -> exactCount();
+            case CACHED -> cachedCount();
+            case ESTIMATE -> estimatedCount();
+        };
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.kind() == CacheInvalidation.Kind.BOOTCAMP) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cachedTotal.set(NOT_LOADED);
+    }
+
+    private Mono<TotalCount> exactCount() {
+        return bootcampPersistencePort.count().map(TotalCount::exact);
+    }
+
+    private Mono<TotalCount> cachedCount() {
+        long total = cachedTotal.get();
+        if (total != NOT_LOADED) {
+            return Mono.just(TotalCount.approximate(total));
+        }
+        return resync().map(TotalCount::exact);
+    }
+
+    /**
+     * Un recuento iniciado antes de un aviso no se guarda: podría no incluir el cambio avisado
+     */
+    private Mono<Long> resync() {
+        return Mono.defer(() -> {
+            long startedAt = generation.get();
+            return bootcampPersistencePort.count()
+                    .doOnNext(total -> {
+                        if (generation.get() == startedAt) {
+                            cachedTotal.set(total);
+                        }
+                    });
+        });
+    }
+
+    private Mono<TotalCount> estimatedCount() {
+        // reltuples es -1 (o 0) si la tabla nunca se analizó; en ese caso o bajo el umbral se cuenta exacto
+        return databaseClient.sql(ESTIMATE_QUERY)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .filter(estimate -> estimate >= properties.getEstimateThreshold())
+                .map(TotalCount::approximate)
+                .switchIfEmpty(Mono.defer(this::exactCount));
+    }
+}
@@ -1,63 +1,196 @@
 package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
 
 import com.example.resilient_api.domain.model.Bootcamp;
+import com.example.resilient_api.domain.model.BootcampDeletion;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.PageCursor;
 import com.example.resilient_api.domain.model.PaginationRequest;
 import com.example.resilient_api.domain.spi.BootcampPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidation;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidationPublisher;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampEntity;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampCapacityEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.MetricsOutboxEntity;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampEntityMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampRepository;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampCapacityRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Slf4j
 public class BootcampPersistenceAdapter implements BootcampPersistencePort {
 
+    private static final int DELETE_CHUNK_SIZE = 100;
+
+    /**
+     * Alta masiva en una sola sentencia: ON CONFLICT descarta los nombres ganados por otra inserción concurrente,
+     * y las relaciones y el outbox solo se escriben para las filas realmente insertadas
+     */
+    private static final String SAVE_ALL_QUERY = """
+            WITH input AS (
+                SELECT *
+                FROM unnest(CAST(:names AS varchar[]), CAST(:descriptions AS varchar[]), CAST(:launchDates AS date[]),
+                            CAST(:durations AS int[]), CAST(:capacityCounts AS int[]))
+                     WITH ORDINALITY AS t(name, description, launch_date, duration, capacity_count, position)
+            ),
+            inserted AS (
+                INSERT INTO bootcamp (name, description, launch_date, duration, capacity_count)
+                SELECT name, description, launch_date, duration, capacity_count
+                FROM input
+                ORDER BY position
+                ON CONFLICT (name) DO NOTHING
+                RETURNING id, name, description, launch_date, duration
+            ),
+            links AS (
+                INSERT INTO bootcamp_capacity (bootcamp_id, capacity_id)
+                SELECT i.id, l.capacity_id
+                FROM unnest(CAST(:linkNames AS varchar[]), CAST(:linkCapacityIds AS bigint[]))
+                     WITH ORDINALITY AS l(name, capacity_id, position)
+                JOIN inserted i ON i.name = l.name
+                ORDER BY l.position
+            ),
+            outbox AS (
+                INSERT INTO metrics_outbox (bootcamp_id, created_at)
+                SELECT id, :createdAt FROM inserted
+            )
+            SELECT id, name, description, launch_date, duration FROM inserted
+            """;
+
+    private static final String FIND_VERSION_BY_ID_QUERY = """
+            SELECT md5(CAST(ROW(b.name, b.description, b.launch_date, b.duration,
+                                (SELECT array_agg(bc.capacity_id ORDER BY bc.capacity_id)
+                                 FROM bootcamp_capacity bc
+                                 WHERE bc.bootcamp_id = b.id)) AS text)) AS version
+            FROM bootcamp b
+            WHERE b.id = :id
+            """;
+
+    /**
+     * Bloquea, en orden de id, todas las relaciones de las capacidades que toca el lote, también las de otros
+     * bootcamps. Dos borrados concurrentes que comparten una capacidad se serializan aquí: el segundo espera al
+     * commit del primero y su consulta de huérfanas ya no ve las relaciones borradas, así que la capacidad se
+     * detecta como huérfana en uno de los dos en lugar de en ninguno
+     */
+    private static final String LOCK_SHARED_LINKS_QUERY = """
+            SELECT bc.id
+            FROM bootcamp_capacity bc
+            WHERE bc.capacity_id IN (SELECT capacity_id FROM bootcamp_capacity WHERE bootcamp_id = ANY(:bootcampIds))
+            ORDER BY bc.id
+            FOR UPDATE
+            """;
+
+    private static final String ORPHAN_CAPACITY_IDS_QUERY = """
+            SELECT bc.capacity_id
+            FROM bootcamp_capacity bc
+            WHERE bc.capacity_id IN (SELECT capacity_id FROM bootcamp_capacity WHERE bootcamp_id = ANY(:bootcampIds))
+            GROUP BY bc.capacity_id
+            HAVING bool_and(bc.bootcamp_id = ANY(:bootcampIds))
+            ORDER BY bc.capacity_id
+            """;
+
+    private static final String ENQUEUE_CAPACITY_CLEANUP_QUERY = """
+            INSERT INTO capacity_cleanup_outbox (capacity_id, created_at)
+            SELECT capacity_id, :createdAt
+            FROM unnest(CAST(:capacityIds AS bigint[])) AS t(capacity_id)
+            """;
+
     private final BootcampRepository bootcampRepository;
     private final BootcampCapacityRepository bootcampCapacityRepository;
     private final BootcampEntityMapper bootcampEntityMapper;
     private final DatabaseClient databaseClient;
+    private final MetricsOutboxRepository metricsOutboxRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
     @Override
     public Mono<Bootcamp> save(Bootcamp bootcamp) {
         log.info("Saving bootcamp with name: {}", bootcamp.name());
 
-        // Guardar el bootcamp
-        return bootcampRepository.save(bootcampEntityMapper.toEntity(bootcamp))
-                .flatMap(savedBootcampEntity -> {
-                    // Guardar las relaciones con capacidades
-                    List<Long> capacityIds = bootcamp.capacityIds();
-                    if (capacityIds != null && !capacityIds.isEmpty()) {
-                        return saveBootcampCapacities(savedBootcampEntity.getId(), capacityIds)
-                                .then(Mono.just(new Bootcamp(
-                                        savedBootcampEntity.getId(),
-                                        savedBootcampEntity.getName(),
-                                        savedBootcampEntity.getDescription(),
-                                        savedBootcampEntity.getLaunchDate(),
-                                        savedBootcampEntity.getDuration(),
-                                        capacityIds
-                                )));
-                    }
-                    return Mono.just(new Bootcamp(
-                            savedBootcampEntity.getId(),
-                            savedBootcampEntity.getName(),
-                            savedBootcampEntity.getDescription(),
-                            savedBootcampEntity.getLaunchDate(),
-                            savedBootcampEntity.getDuration(),
-                            List.of()
-                    ));
-                })
+        BootcampEntity bootcampEntity = bootcampEntityMapper.toEntity(bootcamp);
+        bootcampEntity.setCapacityCount(bootcamp.capacityIds() != null ? bootcamp.capacityIds().size() : 0);
+
+        List<Long> capacityIds = bootcamp.capacityIds() != null ? bootcamp.capacityIds() : List.of();
+
+        // Guardar el bootcamp y sus relaciones con capacidades en la misma transacción
+        return bootcampRepository.save(bootcampEntity)
+                .flatMap(savedBootcampEntity -> saveBootcampCapacities(savedBootcampEntity.getId(), capacityIds)
+                        .thenReturn(new Bootcamp(
+                                savedBootcampEntity.getId(),
+                                savedBootcampEntity.getName(),
+                                savedBootcampEntity.getDescription(),
+                                savedBootcampEntity.getLaunchDate(),
+                                savedBootcampEntity.getDuration(),
+                                capacityIds
+                        )))
+                // Reporte de métricas registrado en el outbox dentro de la misma transacción
+                .flatMap(savedBootcamp -> metricsOutboxRepository.save(newOutboxEntry(savedBootcamp.id()))
+                        .then(cacheInvalidationPublisher.publish(CacheInvalidation.Kind.BOOTCAMP, List.of(savedBootcamp.id())))
+                        .then(incrementCatalogVersion())
+                        .thenReturn(savedBootcamp))
+                .as(transactionalOperator::transactional)
                 .doOnSuccess(savedBootcamp -> log.info("Bootcamp saved successfully with id: {}", savedBootcamp.id()))
                 .doOnError(error -> log.error("Error saving bootcamp", error));
     }
 
+    @Override
+    public Flux<Bootcamp> saveAll(List<Bootcamp> bootcamps) {
+        log.info("Saving {} bootcamps in one statement", bootcamps.size());
+
+        // Relaciones aplanadas como pares (nombre, capacidad): el nombre es único dentro del lote
+        List<String> linkNames = new ArrayList<>();
+        List<Long> linkCapacityIds = new ArrayList<>();
+        bootcamps.forEach(bootcamp -> bootcamp.capacityIds().forEach(capacityId -> {
+            linkNames.add(bootcamp.name());
+            linkCapacityIds.add(capacityId);
+        }));
+
+        Map<String, List<Long>> capacityIdsByName = bootcamps.stream()
+                .collect(Collectors.toMap(Bootcamp::name, Bootcamp::capacityIds));
+
+        // Una única sentencia es atómica: bootcamps, relaciones y outbox se confirman juntos (y el aviso de caché con ellos)
+        return databaseClient.sql(SAVE_ALL_QUERY)
+                .bind("names", bootcamps.stream().map(Bootcamp::name).toArray(String[]::new))
+                .bind("descriptions", bootcamps.stream().map(Bootcamp::description).toArray(String[]::new))
+                .bind("launchDates", bootcamps.stream().map(bootcamp -> bootcamp.launchDate().toString()).toArray(String[]::new))
+                .bind("durations", bootcamps.stream().map(Bootcamp::duration).toArray(Integer[]::new))
+                .bind("capacityCounts", bootcamps.stream().map(bootcamp -> bootcamp.capacityIds().size()).toArray(Integer[]::new))
+                .bind("linkNames", linkNames.toArray(new String[0]))
+                .bind("linkCapacityIds", linkCapacityIds.toArray(new Long[0]))
+                .bind("createdAt", LocalDateTime.now())
+                .map((row, metadata) -> new Bootcamp(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("launch_date", LocalDate.class),
+                        row.get("duration", Integer.class),
+                        capacityIdsByName.get(row.get("name", String.class))
+                ))
+                .all()
+                .collectList()
+                .flatMap(savedBootcamps -> savedBootcamps.isEmpty()
+                        ? Mono.just(savedBootcamps)
+                        : cacheInvalidationPublisher.publish(CacheInvalidation.Kind.BOOTCAMP,
+                                        savedBootcamps.stream().map(Bootcamp::id).toList())
+                                .then(incrementCatalogVersion())
+                                .thenReturn(savedBootcamps))
+                .as(transactionalOperator::transactional)
+                .flatMapIterable(savedBootcamps -> savedBootcamps)
+                .doOnError(error -> log.error("Error saving bootcamp batch", error));
+    }
+
     @Override
     public Mono<Boolean> existByName(String name) {
         return bootcampRepository.findByName(name)
@@ -65,20 +198,31 @@ public class BootcampPersistenceAdapter implements BootcampPersistencePort {
                 .defaultIfEmpty(false);
     }
 
+    @Override
+    public Flux<String> findExistingNames(List<String> names) {
+        return bootcampRepository.findAllByNameIn(names)
+                .map(BootcampEntity::getName);
+    }
+
     @Override
     public Flux<Long> findExistingIdsByIds(List<Long> ids) {
-        return bootcampRepository.findAllByIdIn(ids)
-                .map(BootcampEntity::getId);
+        // Solo la columna id, resuelta desde el índice de la clave primaria
+        return databaseClient.sql("SELECT id FROM bootcamp WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(new Long[0]))
+                .map(row -> row.get("id", Long.class))
+                .all();
     }
 
     @Override
     public Flux<Bootcamp> findAllPaginated(PaginationRequest paginationRequest) {
+        // El orden sale de índices sobre bootcamp; las capacidades se agregan solo para las filas de la página
         String orderBy = buildOrderByClause(paginationRequest);
         String query = """
-                SELECT c.id, c.name, c.description, c.launch_date, c.duration
+                SELECT c.id, c.name, c.description, c.launch_date, c.duration,
+                       COALESCE((SELECT array_agg(ct.capacity_id ORDER BY ct.id)
+                                 FROM bootcamp_capacity ct
+                                 WHERE ct.bootcamp_id = c.id), '{}') AS capacity_ids
                 FROM bootcamp c
-                LEFT JOIN bootcamp_capacity ct ON c.id = ct.bootcamp_id
-                GROUP BY c.id, c.name, c.description, c.launch_date, c.duration
                 ORDER BY %s
                 LIMIT :limit OFFSET :offset
                 """.formatted(orderBy);
@@ -86,28 +230,66 @@ public class BootcampPersistenceAdapter implements BootcampPersistencePort {
         return databaseClient.sql(query)
                 .bind("limit", paginationRequest.size())
                 .bind("offset", paginationRequest.getOffset())
-                .map((row, metadata) -> {
-                    BootcampEntity entity = new BootcampEntity();
-                    entity.setId(row.get("id", Long.class));
-                    entity.setName(row.get("name", String.class));
-                    entity.setDescription(row.get("description", String.class));
-                    entity.setLaunchDate(row.get("launch_date", java.time.LocalDate.class));
-                    entity.setDuration(row.get("duration", Integer.class));
-                    return entity;
-                })
-                .all()
-                .flatMap(entity ->
-                    findCapacityIdsByBootcampId(entity.getId())
-                            .collectList()
-                            .map(capacityIds -> new Bootcamp(
-                                    entity.getId(),
-                                    entity.getName(),
-                                    entity.getDescription(),
-                                    entity.getLaunchDate(),
-                                    entity.getDuration(),
-                                    capacityIds
-                            ))
-                );
+                .map((row, metadata) -> new Bootcamp(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("launch_date", LocalDate.class),
+                        row.get("duration", Integer.class),
+                        toCapacityIds(row.get("capacity_ids", Long[].class))
+                ))
+                .all();
+    }
+
+    @Override
+    public Flux<Bootcamp> findAllAfter(CursorPageRequest cursorPageRequest, int limit) {
+        // Búsqueda por posición (seek) en lugar de OFFSET: el coste no depende de la profundidad de la página
+        boolean ascending = cursorPageRequest.sortDirection() == PaginationRequest.SortDirection.ASC;
+        String comparator = ascending ? ">" : "<";
+        String direction = ascending ? "ASC" : "DESC";
+
+        // TECHNOLOGY_COUNT DESC desempata por nombre ascendente: la clave -capacity_count lo convierte en
+        // un único rango sobre idx_bootcamp_neg_capacity_count_name_id
+        String seekCondition = switch (cursorPageRequest.sortBy()) {
+            case NAME -> "(b.name, b.id) " + comparator + " (:name, :id)";
+            case TECHNOLOGY_COUNT -> "(" + capacityCountKey(ascending) + ", b.name, b.id) > (:capacityCount, :name, :id)";
+        };
+        String orderBy = switch (cursorPageRequest.sortBy()) {
+            case NAME -> "b.name " + direction + ", b.id " + direction;
+            case TECHNOLOGY_COUNT -> capacityCountKey(ascending) + ", b.name, b.id";
+        };
+
+        PageCursor after = cursorPageRequest.after();
+        String query = """
+                SELECT b.id, b.name, b.description, b.launch_date, b.duration,
+                       COALESCE((SELECT array_agg(ct.capacity_id ORDER BY ct.id)
+                                 FROM bootcamp_capacity ct
+                                 WHERE ct.bootcamp_id = b.id), '{}') AS capacity_ids
+                FROM bootcamp b
+                %s
+                ORDER BY %s
+                LIMIT :limit
+                """.formatted(after != null ? "WHERE " + seekCondition : "", orderBy);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query)
+                .bind("limit", limit);
+        if (after != null) {
+            spec = spec.bind("name", after.name())
+                    .bind("id", after.id());
+            if (cursorPageRequest.sortBy() == PaginationRequest.SortField.TECHNOLOGY_COUNT) {
+                spec = spec.bind("capacityCount", ascending ? after.capacityCount() : -after.capacityCount());
+            }
+        }
+
+        return spec.map((row, metadata) -> new Bootcamp(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("launch_date", LocalDate.class),
+                        row.get("duration", Integer.class),
+                        toCapacityIds(row.get("capacity_ids", Long[].class))
+                ))
+                .all();
     }
 
     @Override
@@ -123,40 +305,125 @@ public class BootcampPersistenceAdapter implements BootcampPersistencePort {
 
     @Override
     public Mono<Bootcamp> findById(Long id) {
-        return bootcampRepository.findById(id)
-                .flatMap(entity ->
-                    findCapacityIdsByBootcampId(id)
-                            .collectList()
-                            .map(capacityIds -> new Bootcamp(
-                                    entity.getId(),
-                                    entity.getName(),
-                                    entity.getDescription(),
-                                    entity.getLaunchDate(),
-                                    entity.getDuration(),
-                                    capacityIds
-                            ))
-                );
+        // Bootcamp y sus capacidades en un solo round trip
+        String query = """
+                SELECT b.id, b.name, b.description, b.launch_date, b.duration,
+                       COALESCE((SELECT array_agg(ct.capacity_id ORDER BY ct.id)
+                                 FROM bootcamp_capacity ct
+                                 WHERE ct.bootcamp_id = b.id), '{}') AS capacity_ids
+                FROM bootcamp b
+                WHERE b.id = :id
+                """;
+        return databaseClient.sql(query)
+                .bind("id", id)
+                .map((row, metadata) -> new Bootcamp(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("launch_date", LocalDate.class),
+                        row.get("duration", Integer.class),
+                        toCapacityIds(row.get("capacity_ids", Long[].class))
+                ))
+                .one();
     }
 
+    /**
+     * Huella de la fila y de sus capacidades: cualquier cambio en los datos servidos la modifica sin depender
+     * de que cada ruta de escritura mantenga un contador
+     */
     @Override
-    public Mono<Void> deleteById(Long id) {
-        return bootcampRepository.deleteById(id);
+    public Mono<String> findVersionById(Long id) {
+        return databaseClient.sql(FIND_VERSION_BY_ID_QUERY)
+                .bind("id", id)
+                .map(row -> row.get("version", String.class))
+                .one();
     }
 
     @Override
-    public Mono<Void> deleteBootcampCapacitiesByBootcampId(Long bootcampId) {
-        return bootcampCapacityRepository.findAllByBootcampId(bootcampId)
-                .flatMap(bootcampCapacityRepository::delete)
-                .then();
+    public Mono<Long> findCatalogVersion() {
+        return databaseClient.sql("SELECT version FROM bootcamp_catalog_version WHERE id = 1")
+                .map(row -> row.get("version", Long.class))
+                .one();
     }
 
     @Override
-    public Mono<Long> countBootcampsByCapacityId(Long capacityId) {
-        String query = "SELECT COUNT(DISTINCT bootcamp_id) FROM bootcamp_capacity WHERE capacity_id = :capacityId";
-        return databaseClient.sql(query)
-                .bind("capacityId", capacityId)
-                .map(row -> row.get(0, Long.class))
-                .one();
+    public Mono<List<Long>> deleteReturningOrphanCapacityIds(Long id) {
+        return deleteChunk(List.of(id))
+                .filter(deletion -> !deletion.deletedIds().isEmpty())
+                .map(BootcampDeletion::orphanCapacityIds)
+                .doOnNext(orphanCapacityIds -> log.info("Bootcamp {} deleted, orphan capacities: {}", id, orphanCapacityIds));
+    }
+
+    @Override
+    public Mono<BootcampDeletion> deleteAllReturningOrphanCapacityIds(List<Long> ids) {
+        // Los lotes se ejecutan en secuencia: cada uno ve confirmados los borrados del anterior, así que una
+        // capacidad compartida solo por bootcamps del conjunto aparece como huérfana en el último lote que la toca.
+        // Un lote que falla se revierte solo: los confirmados antes y después conservan su borrado y sus huérfanas
+        // ya registradas, y los ids del lote fallido se devuelven como fallidos
+        return Flux.fromIterable(ids)
+                .buffer(DELETE_CHUNK_SIZE)
+                .concatMap(chunk -> deleteChunk(chunk)
+                        .onErrorResume(error -> {
+                            log.error("Error deleting a chunk of {} bootcamps, reporting them as failed", chunk.size(), error);
+                            return Mono.just(new BootcampDeletion(List.of(), List.of(), chunk));
+                        }))
+                .reduce(new BootcampDeletion(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), (accumulated, chunk) -> {
+                    accumulated.deletedIds().addAll(chunk.deletedIds());
+                    accumulated.orphanCapacityIds().addAll(chunk.orphanCapacityIds());
+                    accumulated.failedIds().addAll(chunk.failedIds());
+                    return accumulated;
+                })
+                .map(deletion -> new BootcampDeletion(List.copyOf(deletion.deletedIds()),
+                        deletion.orphanCapacityIds().stream().distinct().toList(), List.copyOf(deletion.failedIds())))
+                .doOnNext(deletion -> log.info("Deleted {} of {} bootcamps ({} failed), orphan capacities: {}",
+                        deletion.deletedIds().size(), ids.size(), deletion.failedIds().size(),
+                        deletion.orphanCapacityIds().size()));
+    }
+
+    /**
+     * Borra un lote de bootcamps en una transacción: bloquea las filas existentes y las relaciones de sus
+     * capacidades, calcula con una consulta agrupada las capacidades referenciadas solo por el lote y elimina los
+     * bootcamps (ON DELETE CASCADE elimina las relaciones bootcamp_capacity en la misma sentencia).
+     * Las huérfanas se registran en capacity_cleanup_outbox en la misma transacción, y los avisos de invalidación
+     * se entregan a las demás réplicas solo al confirmar el lote.
+     */
+    private Mono<BootcampDeletion> deleteChunk(List<Long> ids) {
+        Long[] bootcampIds = ids.toArray(new Long[0]);
+
+        return databaseClient.sql("SELECT id FROM bootcamp WHERE id = ANY(:bootcampIds) ORDER BY id FOR UPDATE")
+                .bind("bootcampIds", bootcampIds)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .flatMap(existingIds -> existingIds.isEmpty()
+                        ? Mono.just(new BootcampDeletion(List.of(), List.of(), List.of()))
+                        : databaseClient.sql(LOCK_SHARED_LINKS_QUERY)
+                                .bind("bootcampIds", bootcampIds)
+                                .then()
+                                .then(databaseClient.sql(ORPHAN_CAPACITY_IDS_QUERY)
+                                        .bind("bootcampIds", bootcampIds)
+                                        .map(row -> row.get("capacity_id", Long.class))
+                                        .all()
+                                        .collectList())
+                                .flatMap(orphanCapacityIds -> databaseClient.sql("DELETE FROM bootcamp WHERE id = ANY(:bootcampIds)")
+                                        .bind("bootcampIds", bootcampIds)
+                                        .then()
+                                        .then(enqueueCapacityCleanup(orphanCapacityIds))
+                                        .then(cacheInvalidationPublisher.publish(CacheInvalidation.Kind.BOOTCAMP, existingIds))
+                                        .then(cacheInvalidationPublisher.publish(CacheInvalidation.Kind.CAPACITY, orphanCapacityIds))
+                                        .then(incrementCatalogVersion())
+                                        .thenReturn(new BootcampDeletion(existingIds, orphanCapacityIds, List.of()))))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Void> enqueueCapacityCleanup(List<Long> orphanCapacityIds) {
+        if (orphanCapacityIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(ENQUEUE_CAPACITY_CLEANUP_QUERY)
+                .bind("capacityIds", orphanCapacityIds.toArray(new Long[0]))
+                .bind("createdAt", LocalDateTime.now())
+                .then();
     }
 
     private String buildOrderByClause(PaginationRequest paginationRequest) {
@@ -164,19 +431,52 @@ public class BootcampPersistenceAdapter implements BootcampPersistencePort {
 
         return switch (paginationRequest.sortBy()) {
             case NAME -> "c.name " + direction;
-            case TECHNOLOGY_COUNT -> "COUNT(ct.capacity_id) " + direction + ", c.name ASC";
+            case TECHNOLOGY_COUNT -> paginationRequest.sortDirection() == PaginationRequest.SortDirection.ASC
+                    ? "c.capacity_count, c.name, c.id"
+                    : "(-c.capacity_count), c.name, c.id";
         };
     }
 
+    private String capacityCountKey(boolean ascending) {
+        return ascending ? "b.capacity_count" : "(-b.capacity_count)";
+    }
+
+    /**
+     * Última sentencia de cada transacción de alta o baja: bloquea la fila única del catálogo solo hasta el commit,
+     * y los lectores ven la nueva versión a la vez que los datos que cambiaron
+     */
+    private Mono<Void> incrementCatalogVersion() {
+        return databaseClient.sql("UPDATE bootcamp_catalog_version SET version = version + 1 WHERE id = 1")
+                .then();
+    }
+
+    private MetricsOutboxEntity newOutboxEntry(Long bootcampId) {
+        return new MetricsOutboxEntity(null, bootcampId, LocalDateTime.now(), null, 0, null, null);
+    }
+
+    private List<Long> toCapacityIds(Long[] capacityIds) {
+        return capacityIds == null ? List.of() : List.of(capacityIds);
+    }
+
+    /**
+     * Inserta todas las relaciones en una sola sentencia multi-fila: un único round trip sin importar
+     * cuántas capacidades tenga el bootcamp. WITH ORDINALITY conserva el orden recibido en los ids generados.
+     */
     private Mono<Void> saveBootcampCapacities(Long bootcampId, List<Long> capacityIds) {
-        return Flux.fromIterable(capacityIds)
-                .map(capacityId -> {
-                    BootcampCapacityEntity entity = new BootcampCapacityEntity();
-                    entity.setBootcampId(bootcampId);
-                    entity.setCapacityId(capacityId);
-                    return entity;
-                })
-                .flatMap(bootcampCapacityRepository::save)
+        if (capacityIds.isEmpty()) {
+            return Mono.empty();
+        }
+        String query = """
+                INSERT INTO bootcamp_capacity (bootcamp_id, capacity_id)
+                SELECT :bootcampId, t.capacity_id
+                FROM unnest(:capacityIds) WITH ORDINALITY AS t(capacity_id, position)
+                ORDER BY t.position
+                """;
+        return databaseClient.sql(query)
+                .bind("bootcampId", bootcampId)
+                .bind("capacityIds", capacityIds.toArray(new Long[0]))
+                .fetch()
+                .rowsUpdated()
                 .then();
     }
 }
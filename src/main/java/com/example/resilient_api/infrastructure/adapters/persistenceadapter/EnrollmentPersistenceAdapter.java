@@ -1,50 +1,184 @@
 package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
 
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
 import com.example.resilient_api.domain.spi.EnrollmentPersistencePort;
-import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampUserEntity;
-import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampEntityMapper;
-import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.MetricsOutboxEntity;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampUserRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @AllArgsConstructor
 @Slf4j
 public class EnrollmentPersistenceAdapter implements EnrollmentPersistencePort {
 
     private final BootcampUserRepository bootcampUserRepository;
-    private final BootcampRepository bootcampRepository;
-    private final BootcampEntityMapper bootcampEntityMapper;
+    private final MetricsOutboxRepository metricsOutboxRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final DatabaseClient databaseClient;
+
+    private static final String ENROLLED = TechnicalMessage.ENROLLMENT_CREATED.name();
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Valida e inscribe en una sola sentencia: existencia del bootcamp, inscripción duplicada,
+     * límite de bootcamps por usuario y solapamiento de fechas, en el mismo orden que las
+     * validaciones de dominio. El estado devuelto es el nombre del TechnicalMessage correspondiente.
+     * El reporte de métricas se registra en el outbox dentro de la misma sentencia.
+     */
+    private static final String ENROLL_USER_QUERY = """
+            WITH target AS (
+                SELECT id, launch_date, launch_date + duration AS end_date
+                FROM bootcamp
+                WHERE id = :bootcampId
+            ),
+            enrolled AS (
+                SELECT b.id, b.launch_date, b.launch_date + b.duration AS end_date
+                FROM bootcamp_user bu
+                JOIN bootcamp b ON b.id = bu.bootcamp_id
+                WHERE bu.user_id = :userId
+            ),
+            verdict AS (
+                SELECT CASE
+                    WHEN NOT EXISTS (SELECT 1 FROM target) THEN 'BOOTCAMP_NOT_FOUND'
+                    WHEN EXISTS (SELECT 1 FROM enrolled WHERE id = :bootcampId) THEN 'USER_ALREADY_ENROLLED'
+                    WHEN (SELECT COUNT(*) FROM enrolled) >= :maxBootcamps THEN 'MAX_BOOTCAMPS_REACHED'
+                    WHEN EXISTS (SELECT 1 FROM enrolled e, target t
+                                 WHERE e.launch_date <= t.end_date AND t.launch_date <= e.end_date)
+                        THEN 'BOOTCAMP_DATE_CONFLICT'
+                    ELSE 'ENROLLMENT_CREATED'
+                END AS status
+            ),
+            inserted AS (
+                INSERT INTO bootcamp_user (bootcamp_id, user_id, enrolled_at)
+                SELECT :bootcampId, :userId, :enrolledAt
+                FROM verdict
+                WHERE status = 'ENROLLMENT_CREATED'
+                RETURNING id, bootcamp_id, enrolled_at
+            ),
+            outbox AS (
+                INSERT INTO metrics_outbox (bootcamp_id, created_at)
+                SELECT bootcamp_id, enrolled_at FROM inserted
+            )
+            SELECT v.status, i.id
+            FROM verdict v
+            LEFT JOIN inserted i ON true
+            """;
+
+    /**
+     * Clase propia en la forma de dos claves de pg_advisory_xact_lock, para no compartir espacio de claves con otros
+     * advisory locks de la base. La segunda clave es int4: los ids se pliegan con módulo, y una colisión entre dos
+     * usuarios solo los serializa entre sí, nunca deja de serializar al mismo usuario
+     */
+    private static final int USER_ENROLLMENT_LOCK_CLASS = 1001;
+
+    private static final String LOCK_USER_QUERY =
+            "SELECT pg_advisory_xact_lock(:lockClass, CAST(:userId % 2147483648 AS integer))";
+
+    private static final String LOCK_USERS_QUERY = """
+            SELECT pg_advisory_xact_lock(:lockClass, u.lock_key)
+            FROM (SELECT DISTINCT CAST(user_id % 2147483648 AS integer) AS lock_key
+                  FROM unnest(CAST(:userIds AS bigint[])) AS t(user_id)
+                  ORDER BY lock_key) u
+            """;
+
+    /**
+     * Inserción en lote de los pares aceptados; un reporte por inscripción en el outbox, que el relay fusiona por bootcamp
+     */
+    private static final String INSERT_ENROLLMENTS_QUERY = """
+            WITH inserted AS (
+                INSERT INTO bootcamp_user (bootcamp_id, user_id, enrolled_at)
+                SELECT t.bootcamp_id, t.user_id, :enrolledAt
+                FROM unnest(CAST(:bootcampIds AS bigint[]), CAST(:userIds AS bigint[]))
+                     WITH ORDINALITY AS t(bootcamp_id, user_id, position)
+                ORDER BY t.position
+                RETURNING id, bootcamp_id, user_id
+            ),
+            outbox AS (
+                INSERT INTO metrics_outbox (bootcamp_id, created_at)
+                SELECT bootcamp_id, :enrolledAt FROM inserted
+            )
+            SELECT id, bootcamp_id, user_id FROM inserted
+            """;
 
     @Override
-    public Mono<BootcampEnrollment> enrollUser(Long bootcampId, Long userId) {
+    public Mono<BootcampEnrollment> enrollUser(Long bootcampId, Long userId, int maxBootcampsPerUser) {
         log.info("Enrolling user {} in bootcamp {}", userId, bootcampId);
 
-        BootcampUserEntity entity = new BootcampUserEntity();
-        entity.setBootcampId(bootcampId);
-        entity.setUserId(userId);
-        entity.setEnrolledAt(LocalDateTime.now());
-
-        return bootcampUserRepository.save(entity)
-                .map(saved -> new BootcampEnrollment(
-                        saved.getId(),
-                        saved.getBootcampId(),
-                        saved.getUserId(),
-                        saved.getEnrolledAt()
-                ))
+        LocalDateTime enrolledAt = LocalDateTime.now();
+
+        // El advisory lock serializa las inscripciones concurrentes del mismo usuario hasta el commit,
+        // así el límite y el solapamiento se evalúan sobre un estado que nadie más puede cambiar
+        return databaseClient.sql(LOCK_USER_QUERY)
+                .bind("lockClass", USER_ENROLLMENT_LOCK_CLASS)
+                .bind("userId", userId)
+                .then()
+                .then(databaseClient.sql(ENROLL_USER_QUERY)
+                        .bind("bootcampId", bootcampId)
+                        .bind("userId", userId)
+                        .bind("maxBootcamps", maxBootcampsPerUser)
+                        .bind("enrolledAt", enrolledAt)
+                        .map((row, metadata) -> new EnrollmentOutcome(
+                                row.get("status", String.class),
+                                row.get("id", Long.class)))
+                        .one())
+                .flatMap(outcome -> {
+                    if (!ENROLLED.equals(outcome.status())) {
+                        log.warn("Enrollment of user {} in bootcamp {} rejected: {}", userId, bootcampId, outcome.status());
+                        return Mono.error(new BusinessException(TechnicalMessage.valueOf(outcome.status())));
+                    }
+                    return Mono.just(new BootcampEnrollment(outcome.id(), bootcampId, userId, enrolledAt));
+                })
+                .as(transactionalOperator::transactional)
                 .doOnSuccess(enrollment -> log.info("User {} successfully enrolled in bootcamp {}", userId, bootcampId));
     }
 
+    @Override
+    public Mono<List<EnrollmentResult>> enrollUsers(List<EnrollmentRequest> enrollments, int maxBootcampsPerUser) {
+        log.info("Enrolling {} (bootcamp, user) pairs", enrollments.size());
+
+        Long[] userIds = enrollments.stream().map(EnrollmentRequest::userId).distinct().sorted().toArray(Long[]::new);
+        Long[] bootcampIds = enrollments.stream().map(EnrollmentRequest::bootcampId).distinct().toArray(Long[]::new);
+        LocalDateTime enrolledAt = LocalDateTime.now();
+
+        // Mismo advisory lock por usuario que la inscripción individual, tomado en orden ascendente de clave
+        // para que dos cohortes que comparten usuarios no se bloqueen mutuamente
+        return databaseClient.sql(LOCK_USERS_QUERY)
+                .bind("lockClass", USER_ENROLLMENT_LOCK_CLASS)
+                .bind("userIds", userIds)
+                .then()
+                .then(Mono.defer(() -> selectBootcampPeriods(bootcampIds)))
+                .flatMap(targets -> selectEnrolledPeriods(userIds)
+                        .map(enrolledByUser -> evaluateEnrollments(enrollments, targets, enrolledByUser, maxBootcampsPerUser)))
+                .flatMap(verdicts -> insertEnrollments(verdicts, enrolledAt))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(results -> log.info("Bulk enrollment persisted {} results", results.size()));
+    }
+
     @Override
     public Mono<Void> unenrollUser(Long bootcampId, Long userId) {
         log.info("Unenrolling user {} from bootcamp {}", userId, bootcampId);
         return bootcampUserRepository.deleteByBootcampIdAndUserId(bootcampId, userId)
+                .then(metricsOutboxRepository.save(newOutboxEntry(bootcampId)))
+                .then()
+                .as(transactionalOperator::transactional)
                 .doOnSuccess(v -> log.info("User {} successfully unenrolled from bootcamp {}", userId, bootcampId));
     }
 
@@ -65,16 +199,44 @@ public class EnrollmentPersistenceAdapter implements EnrollmentPersistencePort {
     }
 
     @Override
-    public Flux<Bootcamp> findBootcampsByUserId(Long userId) {
-        return bootcampUserRepository.findByUserId(userId)
-                .flatMap(enrollment -> bootcampRepository.findById(enrollment.getBootcampId()))
-                .map(bootcampEntityMapper::toModel);
+    public Flux<Bootcamp> findBootcampsByUserId(Long userId, boolean includeCapacityIds) {
+        return selectBootcampsByUserIds(List.of(userId), includeCapacityIds)
+                .map(UserBootcamp::bootcamp);
+    }
+
+    @Override
+    public Mono<Map<Long, List<Bootcamp>>> findBootcampsByUserIds(List<Long> userIds, boolean includeCapacityIds) {
+        if (userIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return selectBootcampsByUserIds(userIds, includeCapacityIds)
+                .collect(() -> emptyBootcampListsFor(userIds),
+                        (bootcampsByUser, userBootcamp) -> bootcampsByUser
+                                .computeIfAbsent(userBootcamp.userId(), id -> new ArrayList<>())
+                                .add(userBootcamp.bootcamp()));
     }
 
     @Override
     public Flux<Long> findUserIdsByBootcampId(Long bootcampId) {
-        return bootcampUserRepository.findByBootcampId(bootcampId)
-                .map(BootcampUserEntity::getUserId);
+        // Solo la columna necesaria y lectura por cursor (fetchSize): las filas fluyen con backpressure
+        // en lugar de materializar todo el resultado en el driver
+        return databaseClient.sql("SELECT user_id FROM bootcamp_user WHERE bootcamp_id = :bootcampId ORDER BY id")
+                .bind("bootcampId", bootcampId)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(row -> row.get("user_id", Long.class))
+                .all();
+    }
+
+    /**
+     * Los ids de bootcamp_user nunca se reutilizan: una alta sube el máximo y una baja sin alta posterior
+     * reduce el total, así que (total, máximo id) identifica el conjunto de inscripciones del usuario
+     */
+    @Override
+    public Mono<String> findUserBootcampsVersion(Long userId) {
+        return databaseClient.sql("SELECT count(*) AS enrollments, COALESCE(max(id), 0) AS last_id FROM bootcamp_user WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("enrollments", Long.class) + "." + row.get("last_id", Long.class))
+                .one();
     }
 
     @Override
@@ -82,4 +244,164 @@ public class EnrollmentPersistenceAdapter implements EnrollmentPersistencePort {
         return bootcampUserRepository.findByBootcampIdAndUserId(bootcampId, userId)
                 .hasElement();
     }
+
+    /**
+     * Un solo JOIN bootcamp_user → bootcamp para todos los usuarios, en orden de inscripción.
+     * Los ids de capacidades se agregan en la misma consulta solo si se solicitan.
+     */
+    private Flux<UserBootcamp> selectBootcampsByUserIds(List<Long> userIds, boolean includeCapacityIds) {
+        String capacityIdsColumn = includeCapacityIds
+                ? ", COALESCE((SELECT array_agg(bc.capacity_id ORDER BY bc.id) FROM bootcamp_capacity bc"
+                        + " WHERE bc.bootcamp_id = b.id), '{}') AS capacity_ids"
+                : "";
+        String query = """
+                SELECT bu.user_id, b.id, b.name, b.description, b.launch_date, b.duration%s
+                FROM bootcamp_user bu
+                JOIN bootcamp b ON b.id = bu.bootcamp_id
+                WHERE bu.user_id = ANY(:userIds)
+                ORDER BY bu.user_id, bu.id
+                """.formatted(capacityIdsColumn);
+
+        return databaseClient.sql(query)
+                .bind("userIds", userIds.toArray(new Long[0]))
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map((row, metadata) -> new UserBootcamp(
+                        row.get("user_id", Long.class),
+                        new Bootcamp(
+                                row.get("id", Long.class),
+                                row.get("name", String.class),
+                                row.get("description", String.class),
+                                row.get("launch_date", LocalDate.class),
+                                row.get("duration", Integer.class),
+                                includeCapacityIds ? toCapacityIds(row.get("capacity_ids", Long[].class)) : null)))
+                .all();
+    }
+
+    private Mono<Map<Long, BootcampPeriod>> selectBootcampPeriods(Long[] bootcampIds) {
+        return databaseClient.sql("SELECT id, launch_date, launch_date + duration AS end_date FROM bootcamp WHERE id = ANY(:bootcampIds)")
+                .bind("bootcampIds", bootcampIds)
+                .map((row, metadata) -> new BootcampPeriod(
+                        row.get("id", Long.class),
+                        row.get("launch_date", LocalDate.class),
+                        row.get("end_date", LocalDate.class)))
+                .all()
+                .collectMap(BootcampPeriod::id);
+    }
+
+    private Mono<Map<Long, List<BootcampPeriod>>> selectEnrolledPeriods(Long[] userIds) {
+        String query = """
+                SELECT bu.user_id, b.id, b.launch_date, b.launch_date + b.duration AS end_date
+                FROM bootcamp_user bu
+                JOIN bootcamp b ON b.id = bu.bootcamp_id
+                WHERE bu.user_id = ANY(:userIds)
+                """;
+        return databaseClient.sql(query)
+                .bind("userIds", userIds)
+                .map((row, metadata) -> new UserBootcampPeriod(
+                        row.get("user_id", Long.class),
+                        new BootcampPeriod(
+                                row.get("id", Long.class),
+                                row.get("launch_date", LocalDate.class),
+                                row.get("end_date", LocalDate.class))))
+                .all()
+                .collect(HashMap::new, (enrolledByUser, enrolled) -> enrolledByUser
+                        .computeIfAbsent(enrolled.userId(), id -> new ArrayList<>())
+                        .add(enrolled.period()));
+    }
+
+    /**
+     * Aplica las reglas de ENROLL_USER_QUERY par a par y en orden; cada inscripción aceptada se suma al estado
+     * del usuario, así el límite y el solapamiento también se respetan entre pares del mismo lote
+     */
+    private List<EnrollmentVerdict> evaluateEnrollments(List<EnrollmentRequest> enrollments,
+                                                        Map<Long, BootcampPeriod> targets,
+                                                        Map<Long, List<BootcampPeriod>> enrolledByUser,
+                                                        int maxBootcampsPerUser) {
+        List<EnrollmentVerdict> verdicts = new ArrayList<>(enrollments.size());
+        for (EnrollmentRequest request : enrollments) {
+            BootcampPeriod target = targets.get(request.bootcampId());
+            List<BootcampPeriod> enrolled = enrolledByUser.computeIfAbsent(request.userId(), id -> new ArrayList<>());
+
+            TechnicalMessage status;
+            if (target == null) {
+                status = TechnicalMessage.BOOTCAMP_NOT_FOUND;
+            } else if (enrolled.stream().anyMatch(period -> period.id().equals(target.id()))) {
+                status = TechnicalMessage.USER_ALREADY_ENROLLED;
+            } else if (enrolled.size() >= maxBootcampsPerUser) {
+                status = TechnicalMessage.MAX_BOOTCAMPS_REACHED;
+            } else if (enrolled.stream().anyMatch(target::overlaps)) {
+                status = TechnicalMessage.BOOTCAMP_DATE_CONFLICT;
+            } else {
+                status = TechnicalMessage.ENROLLMENT_CREATED;
+                enrolled.add(target);
+            }
+            verdicts.add(new EnrollmentVerdict(request, status));
+        }
+        return verdicts;
+    }
+
+    private Mono<List<EnrollmentResult>> insertEnrollments(List<EnrollmentVerdict> verdicts, LocalDateTime enrolledAt) {
+        List<EnrollmentRequest> accepted = verdicts.stream()
+                .filter(verdict -> verdict.status() == TechnicalMessage.ENROLLMENT_CREATED)
+                .map(EnrollmentVerdict::request)
+                .toList();
+
+        Mono<Map<EnrollmentRequest, Long>> insertedIds = accepted.isEmpty()
+                ? Mono.just(Map.of())
+                : databaseClient.sql(INSERT_ENROLLMENTS_QUERY)
+                        .bind("bootcampIds", accepted.stream().map(EnrollmentRequest::bootcampId).toArray(Long[]::new))
+                        .bind("userIds", accepted.stream().map(EnrollmentRequest::userId).toArray(Long[]::new))
+                        .bind("enrolledAt", enrolledAt)
+                        .map((row, metadata) -> new BootcampEnrollment(
+                                row.get("id", Long.class),
+                                row.get("bootcamp_id", Long.class),
+                                row.get("user_id", Long.class),
+                                enrolledAt))
+                        .all()
+                        .collectMap(inserted -> new EnrollmentRequest(inserted.bootcampId(), inserted.userId()),
+                                BootcampEnrollment::id);
+
+        return insertedIds.map(ids -> verdicts.stream()
+                .map(verdict -> new EnrollmentResult(
+                        verdict.request().bootcampId(),
+                        verdict.request().userId(),
+                        verdict.status() == TechnicalMessage.ENROLLMENT_CREATED ? ids.get(verdict.request()) : null,
+                        verdict.status()))
+                .toList());
+    }
+
+    private Map<Long, List<Bootcamp>> emptyBootcampListsFor(List<Long> userIds) {
+        Map<Long, List<Bootcamp>> bootcampsByUser = new LinkedHashMap<>();
+        userIds.forEach(userId -> bootcampsByUser.put(userId, new ArrayList<>()));
+        return bootcampsByUser;
+    }
+
+    private List<Long> toCapacityIds(Long[] capacityIds) {
+        return capacityIds == null ? List.of() : List.of(capacityIds);
+    }
+
+    private record UserBootcamp(Long userId, Bootcamp bootcamp) {
+    }
+
+    private record EnrollmentOutcome(String status, Long id) {
+    }
+
+    private record EnrollmentVerdict(EnrollmentRequest request, TechnicalMessage status) {
+    }
+
+    private record UserBootcampPeriod(Long userId, BootcampPeriod period) {
+    }
+
+    /**
+     * Periodo de un bootcamp con la misma aritmética que ENROLL_USER_QUERY: end_date = launch_date + duration
+     */
+    private record BootcampPeriod(Long id, LocalDate launchDate, LocalDate endDate) {
+        boolean overlaps(BootcampPeriod other) {
+            return !other.launchDate().isAfter(endDate) && !launchDate.isAfter(other.endDate());
+        }
+    }
+
+    private MetricsOutboxEntity newOutboxEntry(Long bootcampId) {
+        return new MetricsOutboxEntity(null, bootcampId, LocalDateTime.now(), null, 0, null, null);
+    }
 }
@@ -21,5 +21,6 @@ public class BootcampEntity {
     private String description;
     private LocalDate launchDate;
     private Integer duration;
+    private Integer capacityCount;
 }
 
@@ -0,0 +1,28 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table(name = "metrics_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsOutboxEntity {
+    @Id
+    private Long id;
+    private Long bootcampId;
+    private LocalDateTime createdAt;
+    /** Fin del reclamo en curso o, tras un fallo, momento a partir del cual se reintenta */
+    private LocalDateTime claimedUntil;
+    private int attempts;
+    private String lastError;
+    /** Fila aparcada tras agotar los intentos; el relay ya no la reclama */
+    private LocalDateTime parkedAt;
+}
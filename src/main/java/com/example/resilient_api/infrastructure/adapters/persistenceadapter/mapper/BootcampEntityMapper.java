@@ -11,6 +11,7 @@ public interface BootcampEntityMapper {
     Bootcamp toModel(BootcampEntity entity);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "capacityCount", ignore = true)
     BootcampEntity toEntity(Bootcamp bootcamp);
 }
 
@@ -11,6 +11,6 @@ import java.util.List;
 @Repository
 public interface BootcampRepository extends ReactiveCrudRepository<BootcampEntity, Long> {
     Mono<BootcampEntity> findByName(String name);
-    Flux<BootcampEntity> findAllByIdIn(List<Long> ids);
+    Flux<BootcampEntity> findAllByNameIn(List<String> names);
 }
 
@@ -0,0 +1,55 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.CapacityCleanupOutboxEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface CapacityCleanupOutboxRepository extends ReactiveCrudRepository<CapacityCleanupOutboxEntity, Long> {
+
+    /**
+     * Reclama con un lease hasta :leaseUntil hasta :limit capacidades pendientes, en orden de llegada.
+     * Se excluyen las filas aparcadas y las que tienen un reclamo vigente o esperan su reintento.
+     * La sentencia se confirma sola: la llamada posterior a capacity-api no mantiene bloqueos ni conexión.
+     */
+    @Query("""
+            UPDATE capacity_cleanup_outbox SET claimed_until = :leaseUntil
+            WHERE id IN (
+                SELECT id FROM capacity_cleanup_outbox
+                WHERE parked_at IS NULL
+                  AND (claimed_until IS NULL OR claimed_until <= :now)
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """)
+    Flux<CapacityCleanupOutboxEntity> claimBatch(int limit, LocalDateTime now, LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("DELETE FROM capacity_cleanup_outbox WHERE id IN (:ids)")
+    Mono<Integer> deleteClaimed(Collection<Long> ids);
+
+    /**
+     * Libera el reclamo de un lote fallido: reprograma el reintento en :retryAt o, si :parkedAt no es nulo,
+     * aparca las filas
+     */
+    @Modifying
+    @Query("""
+            UPDATE capacity_cleanup_outbox
+            SET attempts = :attempts, last_error = :lastError, claimed_until = :retryAt, parked_at = :parkedAt
+            WHERE id IN (:ids)
+            """)
+    Mono<Integer> recordFailure(Collection<Long> ids, int attempts, String lastError,
+                                LocalDateTime retryAt, LocalDateTime parkedAt);
+
+    @Query("SELECT count(*) FROM capacity_cleanup_outbox WHERE parked_at IS NULL")
+    Mono<Long> countPending();
+
+    @Query("SELECT count(*) FROM capacity_cleanup_outbox WHERE parked_at IS NOT NULL")
+    Mono<Long> countParked();
+}
@@ -0,0 +1,67 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.MetricsOutboxEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface MetricsOutboxRepository extends ReactiveCrudRepository<MetricsOutboxEntity, Long> {
+
+    /**
+     * Reclama con un lease hasta :leaseUntil todos los disparos pendientes de hasta :limit bootcamps cuyo
+     * último disparo es anterior a :quietCutoff (periodo de calma) o cuyo primer disparo es anterior a
+     * :maxDelayCutoff (demora máxima). Se excluyen las filas aparcadas y los bootcamps con un reclamo vigente
+     * o esperando su reintento, de modo que un bootcamp que falla no bloquea a los que vienen detrás.
+     * La sentencia se confirma sola: el envío posterior no mantiene bloqueos ni conexión.
+     */
+    @Query("""
+            UPDATE metrics_outbox SET claimed_until = :leaseUntil
+            WHERE id IN (
+                SELECT id FROM metrics_outbox
+                WHERE parked_at IS NULL
+                  AND (claimed_until IS NULL OR claimed_until <= :now)
+                  AND bootcamp_id IN (
+                    SELECT bootcamp_id FROM metrics_outbox
+                    WHERE parked_at IS NULL
+                    GROUP BY bootcamp_id
+                    HAVING (MAX(created_at) <= :quietCutoff OR MIN(created_at) <= :maxDelayCutoff)
+                       AND bool_and(claimed_until IS NULL OR claimed_until <= :now)
+                    ORDER BY MIN(id)
+                    LIMIT :limit)
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """)
+    Flux<MetricsOutboxEntity> claimBatch(int limit, LocalDateTime quietCutoff, LocalDateTime maxDelayCutoff,
+                                         LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Borra las filas reclamadas de un reporte enviado; los disparos llegados después siguen pendientes
+     */
+    @Modifying
+    @Query("DELETE FROM metrics_outbox WHERE id IN (:ids)")
+    Mono<Integer> deleteClaimed(Collection<Long> ids);
+
+    /**
+     * Libera el reclamo de un reporte fallido: reprograma el reintento en :retryAt o, si :parkedAt no es nulo,
+     * aparca las filas
+     */
+    @Modifying
+    @Query("""
+            UPDATE metrics_outbox
+            SET attempts = :attempts, last_error = :lastError, claimed_until = :retryAt, parked_at = :parkedAt
+            WHERE id IN (:ids)
+            """)
+    Mono<Integer> recordFailure(Collection<Long> ids, int attempts, String lastError,
+                                LocalDateTime retryAt, LocalDateTime parkedAt);
+
+    @Query("SELECT count(*) FROM metrics_outbox WHERE parked_at IS NULL")
+    Mono<Long> countPending();
+
+    @Query("SELECT count(*) FROM metrics_outbox WHERE parked_at IS NOT NULL")
+    Mono<Long> countParked();
+}
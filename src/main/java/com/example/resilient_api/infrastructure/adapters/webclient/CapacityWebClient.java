@@ -5,9 +5,8 @@ import com.example.resilient_api.domain.model.CapacitySummary;
 import com.example.resilient_api.infrastructure.adapters.webclient.dto.CapacityExistsResponse;
 import com.example.resilient_api.infrastructure.adapters.webclient.dto.CapacityIdsRequest;
 import com.example.resilient_api.infrastructure.adapters.webclient.dto.CapacitySummaryResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -18,24 +17,27 @@ import java.util.List;
 import java.util.Map;
 
 import static com.example.resilient_api.domain.enums.TechnicalMessage.TECHNOLOGY_SERVICE_ERROR;
+import static com.example.resilient_api.infrastructure.adapters.webclient.OutboundResilience.CAPACITY_SERVICE;
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CapacityWebClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+    private final OutboundResilience outboundResilience;
 
-    @Value("${external.capacity.base-url}")
-    private String capacityBaseUrl;
+    public CapacityWebClient(@Qualifier("capacityServiceWebClient") WebClient webClient, OutboundResilience outboundResilience) {
+        this.webClient = webClient;
+        this.outboundResilience = outboundResilience;
+    }
 
     public Mono<Map<Long, Boolean>> checkCapacitiesExist(List<Long> capacityIds, String messageId) {
         log.info("Calling capacity service to check capacities exist with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        return outboundResilience.read(CAPACITY_SERVICE, webClient
                 .post()
-                .uri(capacityBaseUrl + "/capacity/check-exists")
+                .uri("/capacity/check-exists")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new CapacityIdsRequest(capacityIds))
                 .retrieve()
@@ -47,9 +49,9 @@ public class CapacityWebClient {
                 .onStatus(status -> status.is4xxClientError(),
                     response -> {
                         log.error("Capacity service returned 4xx error for messageId: {}", messageId);
-                        return Mono.error(new TechnicalException(TECHNOLOGY_SERVICE_ERROR));
+                        return Mono.error(new ClientErrorException(TECHNOLOGY_SERVICE_ERROR));
                     })
-                .bodyToMono(CapacityExistsResponse.class)
+                .bodyToMono(CapacityExistsResponse.class))
                 .map(CapacityExistsResponse::getExists)
                 .doOnSuccess(result -> log.info("Successfully received response from capacity service with messageId: {}", messageId))
                 .doOnError(ex -> log.error("Error calling capacity service for messageId: {}", messageId, ex))
@@ -65,9 +67,9 @@ public class CapacityWebClient {
     public Flux<CapacitySummary> getCapacitiesByIds(List<Long> capacityIds, String messageId) {
         log.info("Calling capacity service to get capacities by ids with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        return outboundResilience.read(CAPACITY_SERVICE, webClient
                 .post()
-                .uri(capacityBaseUrl + "/capacity/by-ids")
+                .uri("/capacity/by-ids")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new CapacityIdsRequest(capacityIds))
                 .retrieve()
@@ -79,9 +81,9 @@ public class CapacityWebClient {
                 .onStatus(status -> status.is4xxClientError(),
                     response -> {
                         log.error("Capacity service returned 4xx error for messageId: {}", messageId);
-                        return Mono.error(new TechnicalException(TECHNOLOGY_SERVICE_ERROR));
+                        return Mono.error(new ClientErrorException(TECHNOLOGY_SERVICE_ERROR));
                     })
-                .bodyToFlux(CapacitySummaryResponse.class)
+                .bodyToFlux(CapacitySummaryResponse.class))
                 .map(response -> new CapacitySummary(response.getId(), response.getName(), List.of()))
                 .doOnComplete(() -> log.info("Successfully received capacities from capacity service with messageId: {}", messageId))
                 .doOnError(ex -> log.error("Error calling capacity service for messageId: {}", messageId, ex))
@@ -97,9 +99,9 @@ public class CapacityWebClient {
     public Flux<CapacitySummary> getCapacitiesWithTechnologies(List<Long> capacityIds, String messageId) {
         log.info("Calling capacity service to get capacities with technologies by ids with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        return outboundResilience.read(CAPACITY_SERVICE, webClient
                 .post()
-                .uri(capacityBaseUrl + "/capacity/with-technologies")
+                .uri("/capacity/with-technologies")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new CapacityIdsRequest(capacityIds))
                 .retrieve()
@@ -111,9 +113,9 @@ public class CapacityWebClient {
                 .onStatus(status -> status.is4xxClientError(),
                     response -> {
                         log.error("Capacity service returned 4xx error for messageId: {}", messageId);
-                        return Mono.error(new TechnicalException(TECHNOLOGY_SERVICE_ERROR));
+                        return Mono.error(new ClientErrorException(TECHNOLOGY_SERVICE_ERROR));
                     })
-                .bodyToFlux(CapacitySummaryResponse.class)
+                .bodyToFlux(CapacitySummaryResponse.class))
                 .map(response -> new CapacitySummary(
                         response.getId(),
                         response.getName(),
@@ -133,9 +135,9 @@ public class CapacityWebClient {
     public Mono<Void> deleteCapacitiesByIds(List<Long> capacityIds, String messageId) {
         log.info("Calling capacity service to delete capacities by ids with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        return outboundResilience.write(CAPACITY_SERVICE, webClient
                 .post()
-                .uri(capacityBaseUrl + "/capacity/delete-by-ids")
+                .uri("/capacity/delete-by-ids")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new CapacityIdsRequest(capacityIds))
                 .retrieve()
@@ -147,9 +149,9 @@ public class CapacityWebClient {
                 .onStatus(status -> status.is4xxClientError(),
                     response -> {
                         log.error("Capacity service returned 4xx error for messageId: {}", messageId);
-                        return Mono.error(new TechnicalException(TECHNOLOGY_SERVICE_ERROR));
+                        return Mono.error(new ClientErrorException(TECHNOLOGY_SERVICE_ERROR));
                     })
-                .bodyToMono(Void.class)
+                .bodyToMono(Void.class))
                 .doOnSuccess(v -> log.info("Successfully deleted capacities with messageId: {}", messageId))
                 .doOnError(ex -> log.error("Error calling capacity service for messageId: {}", messageId, ex))
                 .onErrorResume(ex -> {
@@ -0,0 +1,15 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+
+/**
+ * Respuesta 4xx de un servicio externo: la petición no es válida y repetirla no cambia el resultado,
+ * por eso ni se reintenta ni cuenta como fallo en el circuit breaker
+ */
+public class ClientErrorException extends TechnicalException {
+
+    public ClientErrorException(TechnicalMessage technicalMessage) {
+        super(technicalMessage);
+    }
+}
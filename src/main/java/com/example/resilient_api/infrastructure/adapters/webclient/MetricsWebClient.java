@@ -1,71 +1,98 @@
 package com.example.resilient_api.infrastructure.adapters.webclient;
 
-import lombok.RequiredArgsConstructor;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.example.resilient_api.domain.enums.TechnicalMessage.METRICS_SERVICE_ERROR;
+import static com.example.resilient_api.infrastructure.adapters.webclient.OutboundResilience.METRICS_SERVICE;
 
 /**
  * Cliente para comunicarse con el microservicio de métricas
- * Permite registrar reportes de bootcamps de forma asíncrona
+ * Permite registrar reportes de bootcamps, de forma individual o en bloque
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class MetricsWebClient {
 
     private static final String X_MESSAGE_ID = "X-Message-Id";
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+    private final OutboundResilience outboundResilience;
 
-    @Value("${external.metrics.base-url:http://localhost:8084}")
-    private String metricsBaseUrl;
+    public MetricsWebClient(@Qualifier("metricsServiceWebClient") WebClient webClient, OutboundResilience outboundResilience) {
+        this.webClient = webClient;
+        this.outboundResilience = outboundResilience;
+    }
 
     /**
-     * Registra un reporte de bootcamp de forma asíncrona (Fire and Forget)
-     * No espera respuesta ni propaga errores
+     * Registra (recalcula) el reporte de un bootcamp
      *
      * @param bootcampId ID del bootcamp a reportar
      * @param messageId ID del mensaje para trazabilidad
-     * @param authToken Token JWT para autenticación
      */
-    public void registerBootcampReportAsync(Long bootcampId, String messageId, String authToken) {
-        log.info("=== METRICS CLIENT === Starting async bootcamp report registration");
-        log.info("=== METRICS CLIENT === BootcampId: {}, MessageId: {}, MetricsURL: {}",
-                bootcampId, messageId, metricsBaseUrl);
-        log.info("=== METRICS CLIENT === Auth Token present: {}", authToken != null);
+    public Mono<Void> registerBootcampReport(Long bootcampId, String messageId) {
+        log.debug("Registering bootcamp report for bootcampId: {} with messageId: {}", bootcampId, messageId);
+
+        return outboundResilience.write(METRICS_SERVICE, webClient
+                        .post()
+                        .uri("/metrics/bootcamp/report")
+                        .header(X_MESSAGE_ID, messageId)
+                        .bodyValue(new BootcampReportRequest(bootcampId))
+                        .retrieve()
+                        .onStatus(status -> status.is5xxServerError(),
+                                response -> {
+                                    log.error("Metrics service returned 5xx error for messageId: {}", messageId);
+                                    return Mono.error(new TechnicalException(METRICS_SERVICE_ERROR));
+                                })
+                        .onStatus(status -> status.is4xxClientError(),
+                                response -> {
+                                    log.error("Metrics service returned 4xx error for messageId: {}", messageId);
+                                    return Mono.error(new ClientErrorException(METRICS_SERVICE_ERROR));
+                                })
+                        .bodyToMono(Void.class))
+                .doOnError(error -> log.error("Failed to register bootcamp report for bootcampId: {} with messageId: {}",
+                        bootcampId, messageId, error));
+    }
 
-        try {
-            webClientBuilder.build()
-                    .post()
-                    .uri(metricsBaseUrl + "/metrics/bootcamp/report")
-                    .header(X_MESSAGE_ID, messageId)
-                    .header("Authorization", authToken)
-                    .bodyValue(new BootcampReportRequest(bootcampId))
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .doOnSubscribe(s -> log.info("=== METRICS CLIENT === Subscription started for bootcampId: {}", bootcampId))
-                    .doOnSuccess(result -> log.info("=== METRICS CLIENT === SUCCESS - Bootcamp report registered for bootcampId: {} with messageId: {}",
-                            bootcampId, messageId))
-                    .doOnError(error -> log.error("=== METRICS CLIENT === ERROR - Failed to register bootcamp report for bootcampId: {} with messageId: {}. Error: {}",
-                            bootcampId, messageId, error.getMessage(), error))
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .subscribe(
-                            result -> log.info("=== METRICS CLIENT === Subscribe callback - Success for bootcampId: {}", bootcampId),
-                            error -> log.error("=== METRICS CLIENT === Subscribe callback - Error for bootcampId: {}: {}",
-                                    bootcampId, error.getMessage(), error),
-                            () -> log.info("=== METRICS CLIENT === Subscribe callback - Completed for bootcampId: {}", bootcampId)
-                    );
+    /**
+     * Registra (recalcula) los reportes de varios bootcamps en una sola llamada
+     *
+     * @param bootcampIds IDs de los bootcamps a reportar, sin duplicados
+     * @param messageId ID del mensaje para trazabilidad
+     */
+    public Mono<Void> registerBootcampReports(List<Long> bootcampIds, String messageId) {
+        log.debug("Registering {} bootcamp reports with messageId: {}", bootcampIds.size(), messageId);
 
-            log.info("=== METRICS CLIENT === Async call initiated successfully for bootcampId: {}", bootcampId);
-        } catch (Exception ex) {
-            log.error("=== METRICS CLIENT === EXCEPTION - Error initiating async call for bootcampId: {}", bootcampId, ex);
-        }
+        return outboundResilience.write(METRICS_SERVICE, webClient
+                        .post()
+                        .uri("/metrics/bootcamp/report/bulk")
+                        .header(X_MESSAGE_ID, messageId)
+                        .bodyValue(new BootcampReportsRequest(bootcampIds))
+                        .retrieve()
+                        .onStatus(status -> status.is5xxServerError(),
+                                response -> {
+                                    log.error("Metrics service returned 5xx error for messageId: {}", messageId);
+                                    return Mono.error(new TechnicalException(METRICS_SERVICE_ERROR));
+                                })
+                        .onStatus(status -> status.is4xxClientError(),
+                                response -> {
+                                    log.error("Metrics service returned 4xx error for messageId: {}", messageId);
+                                    return Mono.error(new ClientErrorException(METRICS_SERVICE_ERROR));
+                                })
+                        .bodyToMono(Void.class))
+                .doOnError(error -> log.error("Failed to register {} bootcamp reports with messageId: {}",
+                        bootcampIds.size(), messageId, error));
     }
 
     /**
-     * DTO interno para el request de registro de reporte
+     * DTOs internos para el request de registro de reporte
      */
     private record BootcampReportRequest(Long bootcampId) {}
+
+    private record BootcampReportsRequest(List<Long> bootcampIds) {}
 }
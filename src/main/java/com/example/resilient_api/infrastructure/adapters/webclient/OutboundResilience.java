@@ -0,0 +1,89 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aplica de forma reactiva las instancias de Resilience4j (time limiter, bulkhead, circuit breaker
+ * y retry) configuradas por servicio externo en resilience4j.*.instances.&lt;servicio&gt;.
+ * El retry solo se aplica a lecturas idempotentes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundResilience {
+
+    public static final String CAPACITY_SERVICE = "capacity-service";
+    public static final String USER_SERVICE = "user-service";
+    public static final String METRICS_SERVICE = "metrics-service";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final RetryRegistry retryRegistry;
+
+    @PostConstruct
+    void registerStateTransitionLogging() {
+        for (String service : new String[]{CAPACITY_SERVICE, USER_SERVICE, METRICS_SERVICE}) {
+            circuitBreaker(service).getEventPublisher()
+                    .onStateTransition(event -> log.warn("Circuit breaker {} changed state: {}",
+                            event.getCircuitBreakerName(), event.getStateTransition()));
+        }
+    }
+
+    public <T> Mono<T> read(String service, Mono<T> call) {
+        return write(service, call)
+                .transformDeferred(RetryOperator.of(retry(service)));
+    }
+
+    public <T> Flux<T> read(String service, Flux<T> call) {
+        return write(service, call)
+                .transformDeferred(RetryOperator.of(retry(service)));
+    }
+
+    public <T> Mono<T> write(String service, Mono<T> call) {
+        return call
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter(service)))
+                .transformDeferred(BulkheadOperator.of(bulkhead(service)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(service)));
+    }
+
+    public <T> Flux<T> write(String service, Flux<T> call) {
+        return call
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter(service)))
+                .transformDeferred(BulkheadOperator.of(bulkhead(service)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(service)));
+    }
+
+    private CircuitBreaker circuitBreaker(String service) {
+        return circuitBreakerRegistry.circuitBreaker(service);
+    }
+
+    private Bulkhead bulkhead(String service) {
+        return bulkheadRegistry.bulkhead(service);
+    }
+
+    private TimeLimiter timeLimiter(String service) {
+        return timeLimiterRegistry.timeLimiter(service);
+    }
+
+    private Retry retry(String service) {
+        return retryRegistry.retry(service);
+    }
+}
@@ -1,9 +1,8 @@
 package com.example.resilient_api.infrastructure.adapters.webclient;
 
 import com.example.resilient_api.domain.exceptions.TechnicalException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -13,24 +12,31 @@ import java.util.List;
 import java.util.Map;
 
 import static com.example.resilient_api.domain.enums.TechnicalMessage.USER_SERVICE_ERROR;
+import static com.example.resilient_api.infrastructure.adapters.webclient.OutboundResilience.USER_SERVICE;
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserWebClient {
 
-    private final WebClient.Builder webClientBuilder;
+    // Jackson convierte las claves JSON a Long: quien consume el mapa no necesita reinterpretarlas
+    private static final ParameterizedTypeReference<Map<Long, Boolean>> USER_EXISTENCE_TYPE =
+            new ParameterizedTypeReference<>() {};
 
-    @Value("${external.user.base-url}")
-    private String userBaseUrl;
+    private final WebClient webClient;
+    private final OutboundResilience outboundResilience;
+
+    public UserWebClient(@Qualifier("userServiceWebClient") WebClient webClient, OutboundResilience outboundResilience) {
+        this.webClient = webClient;
+        this.outboundResilience = outboundResilience;
+    }
 
     public Mono<Map<Long, Boolean>> checkUsersExist(List<Long> userIds, String messageId) {
         log.info("Calling user service to check if users exist with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        return outboundResilience.read(USER_SERVICE, webClient
                 .post()
-                .uri(userBaseUrl + "/users/check-exists")
+                .uri("/users/check-exists")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(Map.of("ids", userIds))  // Cambiado de "userIds" a "ids"
                 .retrieve()
@@ -42,10 +48,17 @@ public class UserWebClient {
                 .onStatus(status -> status.is4xxClientError(),
                         response -> {
                             log.error("User service returned 4xx error for messageId: {}", messageId);
-                            return Mono.error(new TechnicalException(USER_SERVICE_ERROR));
+                            return Mono.error(new ClientErrorException(USER_SERVICE_ERROR));
                         })
-                .bodyToMono(new ParameterizedTypeReference<Map<Long, Boolean>>() {})
+                .bodyToMono(USER_EXISTENCE_TYPE))
                 .doOnSuccess(result -> log.info("Successfully checked users existence for messageId: {}", messageId))
-                .doOnError(error -> log.error("Error checking users existence for messageId: {}", messageId, error));
+                .doOnError(error -> log.error("Error checking users existence for messageId: {}", messageId, error))
+                .onErrorResume(ex -> {
+                    if (ex instanceof TechnicalException) {
+                        return Mono.error(ex);
+                    }
+                    log.error("Unexpected error calling user service for messageId: {}", messageId, ex);
+                    return Mono.error(new TechnicalException(USER_SERVICE_ERROR));
+                });
     }
 }
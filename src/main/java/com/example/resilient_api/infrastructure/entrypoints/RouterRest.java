@@ -20,28 +20,36 @@ public class RouterRest {
     @RouterOperations({
         // Bootcamps
         @RouterOperation(path = "/bootcamp", method = RequestMethod.POST, beanClass = BootcampHandlerImpl.class, beanMethod = "createBootcamp"),
+        @RouterOperation(path = "/bootcamp/bulk", method = RequestMethod.POST, beanClass = BootcampHandlerImpl.class, beanMethod = "createBootcamps"),
         @RouterOperation(path = "/bootcamp/checking", method = RequestMethod.POST, beanClass = BootcampHandlerImpl.class, beanMethod = "checkBootcampsExist"),
         @RouterOperation(path = "/bootcamp", method = RequestMethod.GET, beanClass = BootcampHandlerImpl.class, beanMethod = "listBootcamps"),
         @RouterOperation(path = "/bootcamp/{id}", method = RequestMethod.GET, beanClass = BootcampHandlerImpl.class, beanMethod = "getBootcampById"),
         @RouterOperation(path = "/bootcamp/{id}", method = RequestMethod.DELETE, beanClass = BootcampHandlerImpl.class, beanMethod = "deleteBootcamp"),
+        @RouterOperation(path = "/bootcamp/bulk-delete", method = RequestMethod.POST, beanClass = BootcampHandlerImpl.class, beanMethod = "deleteBootcamps"),
         // Inscripciones
         @RouterOperation(path = "/bootcamp/{id}/users", method = RequestMethod.GET, beanClass = EnrollmentHandlerImpl.class, beanMethod = "getUserIdsByBootcampId"),
         @RouterOperation(path = "/bootcamp/enroll", method = RequestMethod.POST, beanClass = EnrollmentHandlerImpl.class, beanMethod = "enrollUser"),
+        @RouterOperation(path = "/bootcamp/enroll/bulk", method = RequestMethod.POST, beanClass = EnrollmentHandlerImpl.class, beanMethod = "enrollUsers"),
         @RouterOperation(path = "/bootcamp/{bootcampId}/user/{userId}", method = RequestMethod.DELETE, beanClass = EnrollmentHandlerImpl.class, beanMethod = "unenrollUser"),
-        @RouterOperation(path = "/bootcamp/user/{userId}", method = RequestMethod.GET, beanClass = EnrollmentHandlerImpl.class, beanMethod = "getUserBootcamps")
+        @RouterOperation(path = "/bootcamp/user/{userId}", method = RequestMethod.GET, beanClass = EnrollmentHandlerImpl.class, beanMethod = "getUserBootcamps"),
+        @RouterOperation(path = "/bootcamp/users/bootcamps", method = RequestMethod.POST, beanClass = EnrollmentHandlerImpl.class, beanMethod = "getBootcampsByUserIds")
     })
     public RouterFunction<ServerResponse> routerFunction(
             BootcampHandlerImpl bootcampHandler,
             EnrollmentHandlerImpl enrollmentHandler) {
         return route(POST("/bootcamp"), bootcampHandler::createBootcamp)
+            .andRoute(POST("/bootcamp/bulk"), bootcampHandler::createBootcamps)
             .andRoute(POST("/bootcamp/checking"), bootcampHandler::checkBootcampsExist)
             .andRoute(GET("/bootcamp"), bootcampHandler::listBootcamps)
             .andRoute(GET("/bootcamp/{id}"), bootcampHandler::getBootcampById)
             .andRoute(GET("/bootcamp/{id}/users"), enrollmentHandler::getUserIdsByBootcampId)
             .andRoute(DELETE("/bootcamp/{id}"), bootcampHandler::deleteBootcamp)
+            .andRoute(POST("/bootcamp/bulk-delete"), bootcampHandler::deleteBootcamps)
             .andRoute(POST("/bootcamp/enroll"), enrollmentHandler::enrollUser)
+            .andRoute(POST("/bootcamp/enroll/bulk"), enrollmentHandler::enrollUsers)
             .andRoute(DELETE("/bootcamp/{bootcampId}/user/{userId}"), enrollmentHandler::unenrollUser)
-            .andRoute(GET("/bootcamp/user/{userId}"), enrollmentHandler::getUserBootcamps);
+            .andRoute(GET("/bootcamp/user/{userId}"), enrollmentHandler::getUserBootcamps)
+            .andRoute(POST("/bootcamp/users/bootcamps"), enrollmentHandler::getBootcampsByUserIds);
     }
 
 }
@@ -0,0 +1,19 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Una cohorte (bootcampId + userIds), una lista de pares (enrollments) o ambas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentRequest {
+    private Long bootcampId;
+    private List<Long> userIds;
+    private List<EnrollmentPairDTO> enrollments;
+}
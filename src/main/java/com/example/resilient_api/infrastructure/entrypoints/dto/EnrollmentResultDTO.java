@@ -0,0 +1,18 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResultDTO {
+    private Long bootcampId;
+    private Long userId;
+    private Long enrollmentId;
+    private String code;
+    private String message;
+}
@@ -21,5 +21,6 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private boolean totalExact;
 }
 
@@ -1,16 +1,24 @@
 package com.example.resilient_api.infrastructure.entrypoints.handler;
 
+import com.example.resilient_api.application.config.CacheProperties;
 import com.example.resilient_api.domain.api.BootcampServicePort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.exceptions.TechnicalException;
-import com.example.resilient_api.infrastructure.adapters.webclient.MetricsWebClient;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampBulkRequest;
 import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampIdsRequest;
 import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampWithCapacitiesDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BulkItemResultDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BulkResultResponse;
 import com.example.resilient_api.infrastructure.entrypoints.dto.PageResponse;
 import com.example.resilient_api.infrastructure.entrypoints.dto.CapacitySummaryDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.CursorPageResponse;
 import com.example.resilient_api.infrastructure.entrypoints.dto.TechnologySummaryDTO;
+import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
+import com.example.resilient_api.domain.model.CursorPageRequest;
+import com.example.resilient_api.domain.model.PageCursor;
 import com.example.resilient_api.domain.model.PaginationRequest;
 import com.example.resilient_api.infrastructure.entrypoints.mapper.BootcampMapper;
 import com.example.resilient_api.infrastructure.entrypoints.util.APIResponse;
@@ -27,7 +35,9 @@ import reactor.util.context.Context;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+import static com.example.resilient_api.infrastructure.entrypoints.util.ConditionalRequests.weakConditionalGet;
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.TECHNOLOGY_ERROR;
 
@@ -38,23 +48,15 @@ public class BootcampHandlerImpl {
 
     private final BootcampServicePort bootcampServicePort;
     private final BootcampMapper bootcampMapper;
-    private final MetricsWebClient metricsWebClient;
+    private final CacheProperties cacheProperties;
 
     public Mono<ServerResponse> createBootcamp(ServerRequest request) {
         String messageId = getMessageId(request);
-        String authToken = request.headers().firstHeader("Authorization");
 
+        // El reporte de métricas se registra en el outbox junto con el bootcamp
         return request.bodyToMono(BootcampDTO.class)
                 .flatMap(bootcamp -> bootcampServicePort.registerBootcamp(
-                        bootcampMapper.bootcampDTOToBootcamp(bootcamp), messageId)
-                        .doOnSuccess(savedBootcamp -> {
-
-                            // Registrar reporte
-                                log.info("=== HANDLER === Calling registerBootcampReportAsync");
-                                metricsWebClient.registerBootcampReportAsync(savedBootcamp.id(), messageId, authToken);
-
-                        })
-                )
+                        bootcampMapper.bootcampDTOToBootcamp(bootcamp), messageId))
                 .flatMap(savedBootcamp ->
                         ServerResponse.status(HttpStatus.CREATED)
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -67,6 +69,27 @@ public class BootcampHandlerImpl {
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    public Mono<ServerResponse> createBootcamps(ServerRequest request) {
+        String messageId = getMessageId(request);
+
+        // Valida todo el lote con una consulta de nombres y una llamada a capacity-api, e inserta en una sentencia
+        return request.bodyToMono(BootcampBulkRequest.class)
+                .flatMap(bulkRequest -> bootcampServicePort.registerBootcamps(
+                        bulkRequest.getBootcamps() == null ? List.of() : bulkRequest.getBootcamps().stream()
+                                .map(bootcampMapper::bootcampDTOToBootcamp)
+                                .toList(),
+                        messageId))
+                .doOnSuccess(results -> log.info("Bulk bootcamp creation finished with messageId: {}", messageId))
+                .flatMap(results -> ServerResponse.status(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(toBulkResultResponse(results)))
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error(TECHNOLOGY_ERROR, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
     public Mono<ServerResponse> checkBootcampsExist(ServerRequest request) {
         String messageId = getMessageId(request);
         return request.bodyToMono(BootcampIdsRequest.class)
@@ -104,44 +127,34 @@ public class BootcampHandlerImpl {
                 .map(PaginationRequest.SortDirection::valueOf)
                 .orElse(PaginationRequest.SortDirection.ASC);
 
+        // Con el parámetro after (vacío para la primera página) se usa paginación por cursor
+        Optional<String> after = request.queryParam("after");
+        if (after.isPresent()) {
+            return listBootcampsAfter(request, after.get(), size, sortBy, sortDirection, messageId);
+        }
+
         PaginationRequest paginationRequest = new PaginationRequest(page, size, sortBy, sortDirection);
 
-        return bootcampServicePort.listBootcamps(paginationRequest, messageId)
-                .map(pageResult -> {
-                    // Mapear de dominio a DTO
-                    List<BootcampWithCapacitiesDTO> content = pageResult.content().stream()
-                            .map(bootcamp -> BootcampWithCapacitiesDTO.builder()
-                                    .id(bootcamp.id())
-                                    .name(bootcamp.name())
-                                    .description(bootcamp.description())
-                                    .launchDate(bootcamp.launchDate())
-                                    .duration(bootcamp.duration())
-                                    .capacities(bootcamp.capacities().stream()
-                                            .map(capacity -> CapacitySummaryDTO.builder()
-                                                    .id(capacity.id())
-                                                    .name(capacity.name())
-                                                    .technologies(capacity.technologies().stream()
-                                                            .map(tech -> TechnologySummaryDTO.builder()
-                                                                    .id(tech.id())
-                                                                    .name(tech.name())
-                                                                    .build())
-                                                            .toList())
-                                                    .build())
-                                            .toList())
-                                    .build())
-                            .toList();
-
-                    return PageResponse.<BootcampWithCapacitiesDTO>builder()
-                            .content(content)
-                            .page(pageResult.page())
-                            .size(pageResult.size())
-                            .totalElements(pageResult.totalElements())
-                            .totalPages(pageResult.totalPages())
-                            .first(pageResult.first())
-                            .last(pageResult.last())
-                            .build();
-                })
-                .flatMap(pageResponse -> ServerResponse.ok().bodyValue(pageResponse))
+        return weakConditionalGet(request, catalogVersion(messageId), ok ->
+                        bootcampServicePort.listBootcamps(paginationRequest, messageId)
+                                .map(pageResult -> {
+                                    // Mapear de dominio a DTO
+                                    List<BootcampWithCapacitiesDTO> content = pageResult.content().stream()
+                                            .map(this::toBootcampWithCapacitiesDTO)
+                                            .toList();
+
+                                    return PageResponse.<BootcampWithCapacitiesDTO>builder()
+                                            .content(content)
+                                            .page(pageResult.page())
+                                            .size(pageResult.size())
+                                            .totalElements(pageResult.totalElements())
+                                            .totalPages(pageResult.totalPages())
+                                            .first(pageResult.first())
+                                            .last(pageResult.last())
+                                            .totalExact(pageResult.totalExact())
+                                            .build();
+                                })
+                                .flatMap(ok::bodyValue))
                 .contextWrite(Context.of(X_MESSAGE_ID, messageId))
                 .doOnSuccess(response -> log.info("Bootcamps listed successfully with messageId: {}", messageId))
                 .doOnError(ex -> log.error("Error listing bootcamps for messageId: {}", messageId, ex))
@@ -149,31 +162,38 @@ public class BootcampHandlerImpl {
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    private Mono<ServerResponse> listBootcampsAfter(ServerRequest request, String after, int size,
+                                                    PaginationRequest.SortField sortBy,
+                                                    PaginationRequest.SortDirection sortDirection, String messageId) {
+        return Mono.fromCallable(() -> new CursorPageRequest(
+                        after.isBlank() ? null : PageCursor.decode(after), size, sortBy, sortDirection))
+                .flatMap(cursorPageRequest -> weakConditionalGet(request, catalogVersion(messageId), ok ->
+                        bootcampServicePort.listBootcampsAfter(cursorPageRequest, messageId)
+                                .map(pageResult -> CursorPageResponse.<BootcampWithCapacitiesDTO>builder()
+                                        .content(pageResult.content().stream()
+                                                .map(this::toBootcampWithCapacitiesDTO)
+                                                .toList())
+                                        .size(pageResult.size())
+                                        .nextCursor(pageResult.nextCursor())
+                                        .last(pageResult.last())
+                                        .build())
+                                .flatMap(ok::bodyValue)))
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnSuccess(response -> log.info("Bootcamps listed by cursor successfully with messageId: {}", messageId))
+                .doOnError(ex -> log.error("Error listing bootcamps by cursor for messageId: {}", messageId, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
     public Mono<ServerResponse> getBootcampById(ServerRequest request) {
         String messageId = getMessageId(request);
         Long id = Long.valueOf(request.pathVariable("id"));
 
-        return bootcampServicePort.getBootcampById(id, messageId)
-                .map(bootcamp -> BootcampWithCapacitiesDTO.builder()
-                        .id(bootcamp.id())
-                        .name(bootcamp.name())
-                        .description(bootcamp.description())
-                        .launchDate(bootcamp.launchDate())
-                        .duration(bootcamp.duration())
-                        .capacities(bootcamp.capacities().stream()
-                                .map(capacity -> CapacitySummaryDTO.builder()
-                                        .id(capacity.id())
-                                        .name(capacity.name())
-                                        .technologies(capacity.technologies().stream()
-                                                .map(tech -> TechnologySummaryDTO.builder()
-                                                        .id(tech.id())
-                                                        .name(tech.name())
-                                                        .build())
-                                                .toList())
-                                        .build())
-                                .toList())
-                        .build())
-                .flatMap(bootcampDTO -> ServerResponse.ok().bodyValue(bootcampDTO))
+        Mono<String> version = bootcampServicePort.getBootcampVersion(id, messageId).map(this::withCapacityEpoch);
+        return weakConditionalGet(request, version, ok -> bootcampServicePort.getBootcampById(id, messageId)
+                        .map(this::toBootcampWithCapacitiesDTO)
+                        .flatMap(ok::bodyValue))
                 .contextWrite(Context.of(X_MESSAGE_ID, messageId))
                 .doOnSuccess(response -> log.info("Bootcamp retrieved successfully with messageId: {}", messageId))
                 .doOnError(ex -> log.error("Error retrieving bootcamp for messageId: {}", messageId, ex))
@@ -197,12 +217,82 @@ public class BootcampHandlerImpl {
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    public Mono<ServerResponse> deleteBootcamps(ServerRequest request) {
+        String messageId = getMessageId(request);
+
+        return request.bodyToMono(BootcampIdsRequest.class)
+                .flatMap(idsRequest -> bootcampServicePort.deleteBootcamps(
+                        idsRequest.getIds() != null ? idsRequest.getIds() : List.of(), messageId))
+                .doOnSuccess(results -> log.info("Bulk bootcamp deletion finished with messageId: {}", messageId))
+                .flatMap(results -> ServerResponse.status(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(toBulkResultResponse(results)))
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error deleting bootcamps for messageId: {}", messageId, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    private Mono<String> catalogVersion(String messageId) {
+        return bootcampServicePort.getCatalogVersion(messageId).map(this::withCapacityEpoch);
+    }
+
+    /**
+     * Las capacidades y tecnologías vienen de capacity-api, que no publica versión: el ETag de las respuestas que
+     * las incluyen cambia además cada TTL de la caché de capacidades, la misma antigüedad máxima que ya se sirve.
+     * No detecta cada cambio de capacity-api, solo acota la antigüedad, por eso se emite como validador débil (W/)
+     */
+    private String withCapacityEpoch(String version) {
+        long epoch = System.currentTimeMillis() / cacheProperties.getCapacity().getTtl().toMillis();
+        return version + "-" + epoch;
+    }
+
+    private BulkResultResponse toBulkResultResponse(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> result.status().getCode().startsWith("2"))
+                .count();
+        return BulkResultResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results.stream()
+                        .map(result -> BulkItemResultDTO.builder()
+                                .id(result.id())
+                                .code(result.status().getCode())
+                                .message(result.status().getMessage())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private BootcampWithCapacitiesDTO toBootcampWithCapacitiesDTO(BootcampWithCapacities bootcamp) {
+        return BootcampWithCapacitiesDTO.builder()
+                .id(bootcamp.id())
+                .name(bootcamp.name())
+                .description(bootcamp.description())
+                .launchDate(bootcamp.launchDate())
+                .duration(bootcamp.duration())
+                .capacities(bootcamp.capacities().stream()
+                        .map(capacity -> CapacitySummaryDTO.builder()
+                                .id(capacity.id())
+                                .name(capacity.name())
+                                .technologies(capacity.technologies().stream()
+                                        .map(tech -> TechnologySummaryDTO.builder()
+                                                .id(tech.id())
+                                                .name(tech.name())
+                                                .build())
+                                        .toList())
+                                .build())
+                        .toList())
+                .build();
+    }
+
     private Mono<ServerResponse> handleBusinessException(BusinessException ex, String messageId) {
         return buildErrorResponse(
                 HttpStatus.BAD_REQUEST,
                 messageId,
                 TechnicalMessage.INVALID_PARAMETERS,
-                List.of(buildErrorDTO(ex.getTechnicalMessage())));
+                List.of(buildErrorDTO(ex)));
     }
 
     private Mono<ServerResponse> handleTechnicalException(TechnicalException ex, String messageId) {
@@ -225,6 +315,14 @@ public class BootcampHandlerImpl {
                         .build()));
     }
 
+    private ErrorDTO buildErrorDTO(BusinessException ex) {
+        return ErrorDTO.builder()
+                .code(ex.getTechnicalMessage().getCode())
+                .message(ex.getMessage())
+                .param(ex.getParam())
+                .build();
+    }
+
     private ErrorDTO buildErrorDTO(TechnicalMessage technicalMessage) {
         return ErrorDTO.builder()
                 .code(technicalMessage.getCode())
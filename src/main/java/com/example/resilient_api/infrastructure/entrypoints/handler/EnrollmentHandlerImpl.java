@@ -3,23 +3,40 @@ package com.example.resilient_api.infrastructure.entrypoints.handler;
 import com.example.resilient_api.domain.api.EnrollmentServicePort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
-import com.example.resilient_api.infrastructure.adapters.webclient.MetricsWebClient;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.LongIds;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BulkEnrollmentRequest;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BulkEnrollmentResponse;
 import com.example.resilient_api.infrastructure.entrypoints.dto.EnrollmentRequestDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.EnrollmentResponseDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.EnrollmentResultDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserIdsRequest;
 import com.example.resilient_api.infrastructure.entrypoints.mapper.BootcampMapper;
 import com.example.resilient_api.infrastructure.entrypoints.util.APIResponse;
+import com.example.resilient_api.infrastructure.entrypoints.util.ErrorDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
+import static com.example.resilient_api.infrastructure.entrypoints.util.ConditionalRequests.conditionalGet;
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
 
 @Component
@@ -27,40 +44,33 @@ import static com.example.resilient_api.infrastructure.entrypoints.util.Constant
 @Slf4j
 public class EnrollmentHandlerImpl {
 
+    private static final List<MediaType> STREAMING_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
     private final EnrollmentServicePort enrollmentServicePort;
     private final BootcampMapper bootcampMapper;
-    private final MetricsWebClient metricsWebClient;
 
     public Mono<ServerResponse> enrollUser(ServerRequest request) {
         String messageId = getMessageId(request);
-        String authToken = request.headers().firstHeader("Authorization");
         log.info("Received enroll user request with messageId: {}", messageId);
 
         // Extraer userId del header enviado por capacity-api
         String userIdHeader = request.headers().firstHeader("X-User-Id");
-        if (userIdHeader == null) {
-            log.error("X-User-Id header is missing");
-            return Mono.error(new BusinessException(TechnicalMessage.UNAUTHORIZED_ACTION));
-        }
 
-        Long userId = Long.parseLong(userIdHeader);
-
-        return request.bodyToMono(EnrollmentRequestDTO.class)
-                .flatMap(enrollmentRequest ->
-                        enrollmentServicePort.enrollUserInBootcamp(
-                                enrollmentRequest.getBootcampId(),
-                                userId,
-                                messageId
-                        ).doOnSuccess(enrollment -> {
-                            // Actualizar reporte de forma asíncrona sin afectar el rendimiento
-                            if (authToken != null) {
-                                metricsWebClient.registerBootcampReportAsync(
-                                    enrollmentRequest.getBootcampId(),
-                                    messageId,
-                                    authToken
-                                );
-                            }
-                        }))
+        return Mono.justOrEmpty(userIdHeader)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("X-User-Id header is missing");
+                    return Mono.error(new BusinessException(TechnicalMessage.UNAUTHORIZED_ACTION));
+                }))
+                .map(Long::parseLong)
+                .flatMap(userId -> request.bodyToMono(EnrollmentRequestDTO.class)
+                        .flatMap(enrollmentRequest ->
+                                // El reporte de métricas se registra en el outbox junto con la inscripción
+                                enrollmentServicePort.enrollUserInBootcamp(
+                                        enrollmentRequest.getBootcampId(),
+                                        userId,
+                                        messageId
+                                )))
                 .flatMap(enrollment -> {
                     EnrollmentResponseDTO responseDTO = EnrollmentResponseDTO.builder()
                             .id(enrollment.id())
@@ -73,24 +83,52 @@ public class EnrollmentHandlerImpl {
                             .bodyValue(responseDTO);
                 })
                 .doOnSuccess(response -> log.info("Successfully processed enroll user request with messageId: {}", messageId))
-                .doOnError(error -> log.error("Error processing enroll user request with messageId: {}", messageId, error));
+                .doOnError(error -> log.error("Error processing enroll user request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    public Mono<ServerResponse> enrollUsers(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received bulk enroll request with messageId: {}", messageId);
+
+        return request.bodyToMono(BulkEnrollmentRequest.class)
+                .flatMap(bulkRequest -> enrollmentServicePort.enrollUsers(toEnrollmentRequests(bulkRequest), messageId))
+                .flatMap(results -> {
+                    int succeeded = (int) results.stream()
+                            .filter(result -> result.status() == TechnicalMessage.ENROLLMENT_CREATED)
+                            .count();
+                    BulkEnrollmentResponse response = BulkEnrollmentResponse.builder()
+                            .succeeded(succeeded)
+                            .failed(results.size() - succeeded)
+                            .results(results.stream()
+                                    .map(result -> EnrollmentResultDTO.builder()
+                                            .bootcampId(result.bootcampId())
+                                            .userId(result.userId())
+                                            .enrollmentId(result.enrollmentId())
+                                            .code(result.status().getCode())
+                                            .message(result.status().getMessage())
+                                            .build())
+                                    .toList())
+                            .build();
+                    return ServerResponse.ok().bodyValue(response);
+                })
+                .doOnSuccess(response -> log.info("Successfully processed bulk enroll request with messageId: {}", messageId))
+                .doOnError(error -> log.error("Error processing bulk enroll request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
     public Mono<ServerResponse> unenrollUser(ServerRequest request) {
         String messageId = getMessageId(request);
-        String authToken = request.headers().firstHeader("Authorization");
         log.info("Received unenroll user request with messageId: {}", messageId);
 
         Long bootcampId = Long.parseLong(request.pathVariable("bootcampId"));
         Long userId = Long.parseLong(request.pathVariable("userId"));
 
         return enrollmentServicePort.unenrollUserFromBootcamp(bootcampId, userId, messageId)
-                .doOnSuccess(v -> {
-                    // Actualizar reporte de forma asíncrona sin afectar el rendimiento
-                    if (authToken != null) {
-                        metricsWebClient.registerBootcampReportAsync(bootcampId, messageId, authToken);
-                    }
-                })
                 .flatMap(v -> {
                     APIResponse apiResponse = APIResponse.builder()
                             .code(TechnicalMessage.ENROLLMENT_DELETED.getCode())
@@ -102,7 +140,10 @@ public class EnrollmentHandlerImpl {
                     return ServerResponse.ok().bodyValue(apiResponse);
                 })
                 .doOnSuccess(response -> log.info("Successfully processed unenroll user request with messageId: {}", messageId))
-                .doOnError(error -> log.error("Error processing unenroll user request with messageId: {}", messageId, error));
+                .doOnError(error -> log.error("Error processing unenroll user request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
     public Mono<ServerResponse> getUserBootcamps(ServerRequest request) {
@@ -111,12 +152,46 @@ public class EnrollmentHandlerImpl {
 
         Long userId = Long.parseLong(request.pathVariable("userId"));
 
-        return enrollmentServicePort.getUserBootcamps(userId, messageId)
-                .map(bootcampMapper::bootcampToBootcampDTO)
-                .collectList()
-                .flatMap(bootcamps -> ServerResponse.ok().bodyValue(bootcamps))
+        // La versión se resuelve antes que el cuerpo: el 304 aplica también a NDJSON y SSE
+        Optional<MediaType> streamingType = streamingMediaType(request);
+        return conditionalGet(request, enrollmentServicePort.getUserBootcampsVersion(userId, messageId), ok -> {
+                    Flux<BootcampDTO> bootcamps = enrollmentServicePort
+                            .getUserBootcamps(userId, includeCapacities(request), messageId)
+                            .map(bootcampMapper::bootcampToBootcampDTO);
+                    return streamingType
+                            .map(mediaType -> stream(ok.contentType(mediaType), bootcamps, BootcampDTO.class))
+                            .orElseGet(() -> bootcamps.collectList().flatMap(ok::bodyValue));
+                })
                 .doOnSuccess(response -> log.info("Successfully processed get user bootcamps request with messageId: {}", messageId))
-                .doOnError(error -> log.error("Error processing get user bootcamps request with messageId: {}", messageId, error));
+                .doOnError(error -> log.error("Error processing get user bootcamps request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    public Mono<ServerResponse> getBootcampsByUserIds(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received get bootcamps by user IDs request with messageId: {}", messageId);
+
+        boolean includeCapacities = includeCapacities(request);
+
+        return request.bodyToMono(UserIdsRequest.class)
+                .flatMap(idsRequest -> enrollmentServicePort.getBootcampsByUserIds(
+                        idsRequest.getUserIds() != null ? idsRequest.getUserIds() : List.of(),
+                        includeCapacities,
+                        messageId))
+                .map(bootcampsByUser -> {
+                    Map<Long, List<BootcampDTO>> response = new LinkedHashMap<>();
+                    bootcampsByUser.forEach((userId, bootcamps) -> response.put(userId,
+                            bootcamps.stream().map(bootcampMapper::bootcampToBootcampDTO).toList()));
+                    return response;
+                })
+                .flatMap(response -> ServerResponse.ok().bodyValue(response))
+                .doOnSuccess(response -> log.info("Successfully processed get bootcamps by user IDs request with messageId: {}", messageId))
+                .doOnError(error -> log.error("Error processing get bootcamps by user IDs request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
     public Mono<ServerResponse> getUserIdsByBootcampId(ServerRequest request) {
@@ -125,14 +200,138 @@ public class EnrollmentHandlerImpl {
 
         log.info("Received get user IDs by bootcamp request for bootcampId: {} with messageId: {}", bootcampId, messageId);
 
+        // NDJSON o SSE: cada id se escribe en cuanto llega de la base de datos, sin acumular la lista
+        Optional<MediaType> streamingType = streamingMediaType(request);
+        if (streamingType.isPresent()) {
+            return stream(ServerResponse.ok().contentType(streamingType.get()),
+                    enrollmentServicePort.getUserIdsByBootcampId(bootcampId, messageId)
+                            .doOnComplete(() -> log.info("Streamed user IDs for bootcamp {} with messageId: {}",
+                                    bootcampId, messageId)), Long.class)
+                    .doOnError(error -> log.error("Error streaming user IDs with messageId: {}", messageId, error))
+                    .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                    .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                    .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+        }
+
+        // Acumulados en un long[]: Jackson lo escribe como array de números sin un Long retenido por id
         return enrollmentServicePort.getUserIdsByBootcampId(bootcampId, messageId)
-                .collectList()
+                .collect(LongIds::new, LongIds::add)
+                .map(LongIds::toArray)
                 .flatMap(userIds -> {
-                    log.info("Found {} users for bootcamp {} with messageId: {}", userIds.size(), bootcampId, messageId);
+                    log.info("Found {} users for bootcamp {} with messageId: {}", userIds.length, bootcampId, messageId);
                     return ServerResponse.ok().bodyValue(userIds);
                 })
                 .doOnSuccess(response -> log.info("Successfully processed get user IDs request with messageId: {}", messageId))
-                .doOnError(error -> log.error("Error processing get user IDs request with messageId: {}", messageId, error));
+                .doOnError(error -> log.error("Error processing get user IDs request with messageId: {}", messageId, error))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    /**
+     * Cohorte (bootcampId + userIds) seguida de los pares explícitos, en el orden recibido
+     */
+    private List<EnrollmentRequest> toEnrollmentRequests(BulkEnrollmentRequest bulkRequest) {
+        List<EnrollmentRequest> enrollments = new ArrayList<>();
+        if (bulkRequest.getUserIds() != null) {
+            bulkRequest.getUserIds().forEach(userId ->
+                    enrollments.add(new EnrollmentRequest(bulkRequest.getBootcampId(), userId)));
+        }
+        if (bulkRequest.getEnrollments() != null) {
+            bulkRequest.getEnrollments().forEach(pair ->
+                    enrollments.add(new EnrollmentRequest(pair.getBootcampId(), pair.getUserId())));
+        }
+        return enrollments;
+    }
+
+    /**
+     * Respuesta en streaming que solo compromete el 200 tras la primera señal del flujo: un error anterior al
+     * primer elemento (p. ej. USER_NOT_FOUND) se mapea como en la variante sin streaming. Un error posterior
+     * llega con la cabecera ya enviada y solo puede cortar el flujo.
+     */
+    private <T> Mono<ServerResponse> stream(ServerResponse.BodyBuilder ok, Flux<T> items, Class<T> type) {
+        // Sin cancelar la fuente al emitir la respuesta: el cuerpo se suscribe a ella al escribirse
+        return items.switchOnFirst((first, all) -> first.isOnError()
+                        ? Mono.<ServerResponse>error(first.getThrowable())
+                        : ok.body(all, type), false)
+                .single();
+    }
+
+    /**
+     * Errores de negocio con su propio TechnicalMessage: 404 si el recurso no existe (USER_NOT_FOUND,
+     * BOOTCAMP_NOT_FOUND, ENROLLMENT_NOT_FOUND), 400 en el resto
+     */
+    private Mono<ServerResponse> handleBusinessException(BusinessException ex, String messageId) {
+        TechnicalMessage technicalMessage = ex.getTechnicalMessage();
+        HttpStatus httpStatus = "404".equals(technicalMessage.getCode())
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+        ErrorDTO error = buildErrorDTO(ex);
+        return buildErrorResponse(httpStatus, messageId, error, List.of(error));
+    }
+
+    private Mono<ServerResponse> handleTechnicalException(TechnicalException ex, String messageId) {
+        return buildErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                messageId,
+                buildErrorDTO(TechnicalMessage.INTERNAL_ERROR),
+                List.of(buildErrorDTO(ex.getTechnicalMessage())));
+    }
+
+    private Mono<ServerResponse> handleUnexpectedException(Throwable ex, String messageId) {
+        log.error("Unexpected error occurred for messageId: {}", messageId, ex);
+        ErrorDTO error = buildErrorDTO(TechnicalMessage.INTERNAL_ERROR);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, messageId, error, List.of(error));
+    }
+
+    private ErrorDTO buildErrorDTO(BusinessException ex) {
+        return ErrorDTO.builder()
+                .code(ex.getTechnicalMessage().getCode())
+                .message(ex.getMessage())
+                .param(ex.getParam())
+                .build();
+    }
+
+    private ErrorDTO buildErrorDTO(TechnicalMessage technicalMessage) {
+        return ErrorDTO.builder()
+                .code(technicalMessage.getCode())
+                .message(technicalMessage.getMessage())
+                .param(technicalMessage.getParam())
+                .build();
+    }
+
+    private Mono<ServerResponse> buildErrorResponse(HttpStatus httpStatus, String identifier, ErrorDTO error,
+                                                    List<ErrorDTO> errors) {
+        return Mono.defer(() -> {
+            APIResponse apiErrorResponse = APIResponse
+                    .builder()
+                    .code(error.getCode())
+                    .message(error.getMessage())
+                    .identifier(identifier)
+                    .date(Instant.now().toString())
+                    .errors(errors)
+                    .build();
+            return ServerResponse.status(httpStatus)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(apiErrorResponse);
+        });
+    }
+
+    /**
+     * Variante en streaming si el cliente acepta application/x-ndjson o text/event-stream
+     */
+    private Optional<MediaType> streamingMediaType(ServerRequest request) {
+        return request.headers().accept().stream()
+                .filter(accepted -> !accepted.isWildcardType())
+                .map(accepted -> STREAMING_MEDIA_TYPES.stream().filter(accepted::isCompatibleWith).findFirst())
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    private boolean includeCapacities(ServerRequest request) {
+        return request.queryParam("includeCapacities")
+                .map(Boolean::parseBoolean)
+                .orElse(false);
     }
 
     private String getMessageId(ServerRequest request) {
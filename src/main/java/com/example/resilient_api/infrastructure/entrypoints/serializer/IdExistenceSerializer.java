@@ -0,0 +1,31 @@
+package com.example.resilient_api.infrastructure.entrypoints.serializer;
+
+import com.example.resilient_api.domain.model.IdExistence;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Escribe IdExistence con el mismo JSON que tenía Map&lt;Long, Boolean&gt; ({"1": true, "2": false})
+ * recorriendo directamente el long[] y el bitmap
+ */
+@JsonComponent
+public class IdExistenceSerializer extends StdSerializer<IdExistence> {
+
+    public IdExistenceSerializer() {
+        super(IdExistence.class);
+    }
+
+    @Override
+    public void serialize(IdExistence existence, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        for (int position = 0; position < existence.size(); position++) {
+            generator.writeFieldId(existence.idAt(position));
+            generator.writeBoolean(existence.existsAt(position));
+        }
+        generator.writeEndObject();
+    }
+}
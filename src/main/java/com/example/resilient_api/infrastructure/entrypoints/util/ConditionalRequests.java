@@ -0,0 +1,66 @@
+package com.example.resilient_api.infrastructure.entrypoints.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * GET condicional con ETag: la versión se obtiene antes que el recurso y, si coincide con If-None-Match,
+ * se responde 304 sin cargarlo ni serializarlo
+ */
+@UtilityClass
+public class ConditionalRequests {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Sin versión (recurso inexistente) se ejecuta la respuesta completa sin ETag, que decide el error
+     */
+    public static Mono<ServerResponse> conditionalGet(ServerRequest request, Mono<String> version,
+                                                      Function<ServerResponse.BodyBuilder, Mono<ServerResponse>> fullResponse) {
+        return conditionalGet(request, version, false, fullResponse);
+    }
+
+    /**
+     * Como conditionalGet, pero con un validador débil (W/): para respuestas cuya versión no cambia con cada
+     * modificación de los datos, sino que solo acota su antigüedad
+     */
+    public static Mono<ServerResponse> weakConditionalGet(ServerRequest request, Mono<String> version,
+                                                          Function<ServerResponse.BodyBuilder, Mono<ServerResponse>> fullResponse) {
+        return conditionalGet(request, version, true, fullResponse);
+    }
+
+    private static Mono<ServerResponse> conditionalGet(ServerRequest request, Mono<String> version, boolean weak,
+                                                       Function<ServerResponse.BodyBuilder, Mono<ServerResponse>> fullResponse) {
+        return version
+                .map(value -> Optional.of("\"" + value + "\""))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(opaqueTag -> {
+                    Optional<String> etag = opaqueTag.map(tag -> weak ? WEAK_PREFIX + tag : tag);
+                    if (opaqueTag.isPresent() && matchesIfNoneMatch(request, opaqueTag.get())) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+                    }
+                    ServerResponse.BodyBuilder ok = ServerResponse.ok();
+                    etag.ifPresent(ok::eTag);
+                    return fullResponse.apply(ok);
+                });
+    }
+
+    /**
+     * If-None-Match admite una lista separada por comas y usa comparación débil (RFC 9110, 13.1.2)
+     */
+    private static boolean matchesIfNoneMatch(ServerRequest request, String etag) {
+        return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
@@ -6,6 +6,9 @@ CREATE TABLE IF NOT EXISTS bootcamp (
     duration INTEGER NOT NULL
 );
 
+-- Número de capacidades desnormalizado para ordenar por TECHNOLOGY_COUNT sin agrupar bootcamp_capacity
+ALTER TABLE bootcamp ADD COLUMN IF NOT EXISTS capacity_count INTEGER NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS bootcamp_capacity (
     id BIGSERIAL PRIMARY KEY,
     bootcamp_id BIGINT NOT NULL,
@@ -14,6 +17,13 @@ CREATE TABLE IF NOT EXISTS bootcamp_capacity (
     CONSTRAINT uk_bootcamp_capacity UNIQUE (bootcamp_id, capacity_id)
 );
 
+-- Backfill de capacity_count para los bootcamps creados antes de existir la columna. Idempotente: una vez
+-- alineadas, ninguna fila con capacidades queda en 0 y la sentencia no reescribe nada en los siguientes arranques
+UPDATE bootcamp b
+SET capacity_count = (SELECT count(*) FROM bootcamp_capacity bc WHERE bc.bootcamp_id = b.id)
+WHERE b.capacity_count = 0
+  AND EXISTS (SELECT 1 FROM bootcamp_capacity bc WHERE bc.bootcamp_id = b.id);
+
 CREATE TABLE IF NOT EXISTS bootcamp_user (
     id BIGSERIAL PRIMARY KEY,
     bootcamp_id BIGINT NOT NULL,
@@ -23,5 +33,45 @@ CREATE TABLE IF NOT EXISTS bootcamp_user (
     CONSTRAINT uk_bootcamp_user UNIQUE (bootcamp_id, user_id)
 );
 
+-- Paginación por cursor: seek por (name, id)
+CREATE INDEX IF NOT EXISTS idx_bootcamp_name_id ON bootcamp(name, id);
+-- TECHNOLOGY_COUNT ASC y DESC (este último con desempate por nombre ascendente) como un único rango de índice
+CREATE INDEX IF NOT EXISTS idx_bootcamp_capacity_count_name_id ON bootcamp(capacity_count, name, id);
+CREATE INDEX IF NOT EXISTS idx_bootcamp_neg_capacity_count_name_id ON bootcamp((-capacity_count), name, id);
+
+CREATE INDEX IF NOT EXISTS idx_bootcamp_capacity_capacity_id ON bootcamp_capacity(capacity_id);
 CREATE INDEX IF NOT EXISTS idx_bootcamp_user_user_id ON bootcamp_user(user_id);
 CREATE INDEX IF NOT EXISTS idx_bootcamp_user_bootcamp_id ON bootcamp_user(bootcamp_id);
+
+-- Versión del catálogo para el ETag de GET /bootcamp: cada alta o baja la incrementa en su misma transacción
+CREATE TABLE IF NOT EXISTS bootcamp_catalog_version (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL
+);
+INSERT INTO bootcamp_catalog_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+-- Reclamo con lease y reintentos acotados: un bootcamp que falla se reprograma con backoff
+-- y, agotados los intentos, queda aparcado (parked_at) sin bloquear al resto del outbox
+CREATE TABLE IF NOT EXISTS metrics_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    bootcamp_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    parked_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_metrics_outbox_bootcamp_created ON metrics_outbox(bootcamp_id, created_at);
+
+-- Capacidades huérfanas pendientes de borrar en capacity-api: se registran en la misma transacción que el borrado
+-- del bootcamp y el relay las entrega con el mismo esquema de lease, reintentos y aparcado que metrics_outbox
+CREATE TABLE IF NOT EXISTS capacity_cleanup_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    capacity_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    parked_at TIMESTAMP
+);
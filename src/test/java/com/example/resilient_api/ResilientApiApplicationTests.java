@@ -3,7 +3,7 @@ package com.example.resilient_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest(classes = ResilientApiApplication.class)
+@SpringBootTest(classes = ResilientApiApplication.class, properties = "outbox.metrics.auth-token=Bearer test-token")
 class ResilientApiApplicationTests {
 
 	@Test
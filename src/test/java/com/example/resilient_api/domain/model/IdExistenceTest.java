@@ -0,0 +1,30 @@
+package com.example.resilient_api.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdExistenceTest {
+
+    @Test
+    void exists_ShouldDistinguishFoundNotFoundAndNotRequestedIds() {
+        // Arrange
+        IdExistence existence = IdExistence.of(new long[]{1L, 2L, 3L}, new long[]{3L, 1L, 99L});
+
+        // Act & Assert
+        assertTrue(existence.exists(1L));
+        assertTrue(existence.exists(3L));
+        assertFalse(existence.exists(2L));
+        assertFalse(existence.exists(4L));
+        assertFalse(existence.exists(99L));
+        assertFalse(existence.allExist());
+    }
+
+    @Test
+    void allExist_WhenEveryRequestedIdWasFound_ShouldBeTrue() {
+        // Act & Assert
+        assertTrue(IdExistence.of(new long[]{1L, 2L}, new long[]{2L, 1L}).allExist());
+        assertTrue(IdExistence.empty().allExist());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.resilient_api.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongIdsTest {
+
+    @Test
+    void add_BeyondTheInitialCapacity_ShouldGrowAndKeepEveryValueInOrder() {
+        // Arrange
+        long[] expected = LongStream.rangeClosed(1, 1_000).toArray();
+        LongIds longIds = new LongIds();
+
+        // Act
+        Arrays.stream(expected).forEach(longIds::add);
+
+        // Assert
+        assertEquals(expected.length, longIds.size());
+        assertArrayEquals(expected, longIds.toArray());
+    }
+
+    @Test
+    void toSortedDistinctArray_ShouldSortAndDropDuplicates() {
+        // Arrange
+        LongIds longIds = LongIds.of(Arrays.asList(5L, 1L, null, 5L, 3L, 1L));
+
+        // Act & Assert
+        assertEquals(5, longIds.size());
+        assertArrayEquals(new long[]{1L, 3L, 5L}, longIds.toSortedDistinctArray());
+    }
+}
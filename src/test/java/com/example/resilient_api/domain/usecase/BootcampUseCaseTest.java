@@ -3,10 +3,16 @@ package com.example.resilient_api.domain.usecase;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.model.Bootcamp;
+import com.example.resilient_api.domain.model.BootcampDeletion;
 import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.BulkItemResult;
 import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.model.CursorPageRequest;
 import com.example.resilient_api.domain.model.Page;
+import com.example.resilient_api.domain.model.PageCursor;
 import com.example.resilient_api.domain.model.PaginationRequest;
+import com.example.resilient_api.domain.model.TotalCount;
+import com.example.resilient_api.domain.spi.BootcampCountPort;
 import com.example.resilient_api.domain.spi.BootcampPersistencePort;
 import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,9 +26,14 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +46,9 @@ class BootcampUseCaseTest {
     @Mock
     private CapacityExternalServicePort capacityExternalServicePort;
 
+    @Mock
+    private BootcampCountPort bootcampCountPort;
+
     @InjectMocks
     private BootcampUseCase bootcampUseCase;
 
@@ -91,6 +105,90 @@ class BootcampUseCaseTest {
         verify(bootcampPersistencePort, never()).save(any(Bootcamp.class));
     }
 
+    @Test
+    void registerBootcamps_ShouldValidateBatchWithOneNameQueryAndOneCapacityCall() {
+        // Arrange
+        Bootcamp duplicatedInBatch = new Bootcamp(null, "Java Bootcamp", "Another description",
+                LocalDate.now().plusDays(10), 30, List.of(1L));
+        Bootcamp existingName = new Bootcamp(null, "Python Bootcamp", "Python training",
+                LocalDate.now().plusDays(10), 30, List.of(2L));
+        Bootcamp missingCapacity = new Bootcamp(null, "Go Bootcamp", "Go training",
+                LocalDate.now().plusDays(10), 30, List.of(9L));
+        Bootcamp invalid = new Bootcamp(null, "", "No name", LocalDate.now().plusDays(10), 30, List.of(1L));
+        List<Bootcamp> bootcamps = List.of(validBootcamp, duplicatedInBatch, existingName, missingCapacity, invalid);
+
+        when(bootcampPersistencePort.findExistingNames(anyList())).thenReturn(Flux.just("Python Bootcamp"));
+        when(capacityExternalServicePort.checkCapacitiesExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true, 9L, false)));
+        when(bootcampPersistencePort.saveAll(List.of(validBootcamp)))
+                .thenReturn(Flux.just(new Bootcamp(7L, "Java Bootcamp", "Complete Java training",
+                        validBootcamp.launchDate(), 90, List.of(1L, 2L, 3L))));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.registerBootcamps(bootcamps, messageId))
+                .expectNext(List.of(
+                        new BulkItemResult(7L, TechnicalMessage.TECHNOLOGY_CREATED),
+                        new BulkItemResult(null, TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS),
+                        new BulkItemResult(null, TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS),
+                        new BulkItemResult(null, TechnicalMessage.TECHNOLOGIES_NOT_FOUND),
+                        new BulkItemResult(null, TechnicalMessage.TECHNOLOGY_NAME_REQUIRED)))
+                .verifyComplete();
+
+        verify(bootcampPersistencePort, times(1)).findExistingNames(anyList());
+        verify(capacityExternalServicePort, times(1)).checkCapacitiesExist(anyList(), anyString());
+        verify(bootcampPersistencePort, never()).existByName(anyString());
+    }
+
+    @Test
+    void registerBootcamps_WhenNameTakenConcurrently_ShouldReportAlreadyExists() {
+        // Arrange
+        when(bootcampPersistencePort.findExistingNames(anyList())).thenReturn(Flux.empty());
+        when(capacityExternalServicePort.checkCapacitiesExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true)));
+        when(bootcampPersistencePort.saveAll(anyList())).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.registerBootcamps(List.of(validBootcamp), messageId))
+                .expectNext(List.of(new BulkItemResult(null, TechnicalMessage.TECHNOLOGY_ALREADY_EXISTS)))
+                .verifyComplete();
+    }
+
+    @Test
+    void registerBootcamps_WithNullElement_ShouldRejectOnlyThatItem() {
+        // Arrange
+        List<Bootcamp> bootcamps = Arrays.asList(null, validBootcamp);
+
+        when(bootcampPersistencePort.findExistingNames(anyList())).thenReturn(Flux.empty());
+        when(capacityExternalServicePort.checkCapacitiesExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(1L, true, 2L, true, 3L, true)));
+        when(bootcampPersistencePort.saveAll(List.of(validBootcamp)))
+                .thenReturn(Flux.just(new Bootcamp(7L, "Java Bootcamp", "Complete Java training",
+                        validBootcamp.launchDate(), 90, List.of(1L, 2L, 3L))));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.registerBootcamps(bootcamps, messageId))
+                .expectNext(List.of(
+                        new BulkItemResult(null, TechnicalMessage.INVALID_REQUEST),
+                        new BulkItemResult(7L, TechnicalMessage.TECHNOLOGY_CREATED)))
+                .verifyComplete();
+    }
+
+    @Test
+    void registerBootcamps_WhenLimitExceeded_ShouldReportTheLimitAndField() {
+        // Arrange
+        List<Bootcamp> bootcamps = Collections.nCopies(501, validBootcamp);
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.registerBootcamps(bootcamps, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.BULK_LIMIT_EXCEEDED
+                        && businessException.getMessage().equals("Bulk requests cannot exceed 500 items")
+                        && businessException.getParam().equals("bootcamps"))
+                .verify();
+
+        verifyNoInteractions(bootcampPersistencePort, capacityExternalServicePort);
+    }
+
     @Test
     void registerBootcamp_WithNullName_ShouldThrowBusinessException() {
         // Arrange
@@ -212,11 +310,9 @@ class BootcampUseCaseTest {
         CapacitySummary capacity1 = new CapacitySummary(1L, "Backend", List.of());
         CapacitySummary capacity2 = new CapacitySummary(2L, "Frontend", List.of());
 
-        when(bootcampPersistencePort.count()).thenReturn(Mono.just(1L));
+        when(bootcampCountPort.totalBootcamps()).thenReturn(Mono.just(TotalCount.exact(1L)));
         when(bootcampPersistencePort.findAllPaginated(any(PaginationRequest.class)))
                 .thenReturn(Flux.just(bootcamp1));
-        when(bootcampPersistencePort.findCapacityIdsByBootcampId(1L))
-                .thenReturn(Flux.just(1L, 2L));
         when(capacityExternalServicePort.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
                 .thenReturn(Flux.just(capacity1, capacity2));
 
@@ -225,12 +321,97 @@ class BootcampUseCaseTest {
                 .expectNextMatches(page ->
                     page.content().size() == 1 &&
                     page.totalElements() == 1 &&
+                    page.totalExact() &&
                     page.content().get(0).capacities().size() == 2
                 )
                 .verifyComplete();
 
-        verify(bootcampPersistencePort).count();
+        verify(bootcampCountPort).totalBootcamps();
         verify(bootcampPersistencePort).findAllPaginated(paginationRequest);
+        verify(bootcampPersistencePort, never()).findCapacityIdsByBootcampId(anyLong());
+    }
+
+    @Test
+    void listBootcamps_ShouldFetchDistinctCapacitiesOncePerPage() {
+        // Arrange
+        PaginationRequest paginationRequest = new PaginationRequest(0, 10,
+                PaginationRequest.SortField.NAME, PaginationRequest.SortDirection.ASC);
+
+        Bootcamp bootcamp1 = new Bootcamp(1L, "Java Bootcamp", "Java training",
+                LocalDate.now(), 90, List.of(1L, 2L));
+        Bootcamp bootcamp2 = new Bootcamp(2L, "Kotlin Bootcamp", "Kotlin training",
+                LocalDate.now(), 60, List.of(2L, 3L));
+        Bootcamp bootcamp3 = new Bootcamp(3L, "Empty Bootcamp", "No capacities",
+                LocalDate.now(), 30, List.of());
+
+        CapacitySummary capacity1 = new CapacitySummary(1L, "Backend", List.of());
+        CapacitySummary capacity2 = new CapacitySummary(2L, "Frontend", List.of());
+        CapacitySummary capacity3 = new CapacitySummary(3L, "Mobile", List.of());
+
+        when(bootcampCountPort.totalBootcamps()).thenReturn(Mono.just(TotalCount.approximate(3L)));
+        when(bootcampPersistencePort.findAllPaginated(any(PaginationRequest.class)))
+                .thenReturn(Flux.just(bootcamp1, bootcamp2, bootcamp3));
+        when(capacityExternalServicePort.getCapacitiesWithTechnologies(List.of(1L, 2L, 3L), messageId))
+                .thenReturn(Flux.just(capacity3, capacity1, capacity2));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.listBootcamps(paginationRequest, messageId))
+                .expectNextMatches(page ->
+                    page.content().size() == 3 &&
+                    !page.totalExact() &&
+                    page.content().get(0).capacities().equals(List.of(capacity1, capacity2)) &&
+                    page.content().get(1).capacities().equals(List.of(capacity2, capacity3)) &&
+                    page.content().get(2).capacities().isEmpty()
+                )
+                .verifyComplete();
+
+        verify(capacityExternalServicePort, times(1)).getCapacitiesWithTechnologies(anyList(), anyString());
+    }
+
+    @Test
+    void listBootcampsAfter_WhenMoreRowsThanSize_ShouldReturnCursorOfLastRow() {
+        // Arrange
+        Bootcamp bootcamp1 = new Bootcamp(1L, "Backend", "Desc", LocalDate.now(), 90, List.of(1L));
+        Bootcamp bootcamp2 = new Bootcamp(2L, "Frontend", "Desc", LocalDate.now(), 60, List.of(1L, 2L));
+        Bootcamp bootcamp3 = new Bootcamp(3L, "Mobile", "Desc", LocalDate.now(), 30, List.of(2L));
+        CursorPageRequest cursorPageRequest = new CursorPageRequest(null, 2,
+                PaginationRequest.SortField.TECHNOLOGY_COUNT, PaginationRequest.SortDirection.DESC);
+
+        when(bootcampPersistencePort.findAllAfter(cursorPageRequest, 3))
+                .thenReturn(Flux.just(bootcamp1, bootcamp2, bootcamp3));
+        when(capacityExternalServicePort.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
+                .thenReturn(Flux.just(new CapacitySummary(1L, "Java", List.of()),
+                        new CapacitySummary(2L, "React", List.of())));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.listBootcampsAfter(cursorPageRequest, messageId))
+                .assertNext(page -> {
+                    assertEquals(List.of(1L, 2L), page.content().stream().map(BootcampWithCapacities::id).toList());
+                    assertFalse(page.last());
+                    assertEquals(new PageCursor(PaginationRequest.SortField.TECHNOLOGY_COUNT,
+                                    PaginationRequest.SortDirection.DESC, 2, "Frontend", 2L),
+                            PageCursor.decode(page.nextCursor()));
+                })
+                .verifyComplete();
+
+        verify(bootcampCountPort, never()).totalBootcamps();
+    }
+
+    @Test
+    void listBootcampsAfter_WithCursorFromAnotherSort_ShouldThrowBusinessException() {
+        // Arrange
+        PageCursor cursor = new PageCursor(PaginationRequest.SortField.NAME,
+                PaginationRequest.SortDirection.ASC, 0, "Backend", 1L);
+        CursorPageRequest cursorPageRequest = new CursorPageRequest(PageCursor.decode(cursor.encode()), 10,
+                PaginationRequest.SortField.TECHNOLOGY_COUNT, PaginationRequest.SortDirection.ASC);
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.listBootcampsAfter(cursorPageRequest, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.INVALID_PARAMETERS)
+                .verify();
+
+        verify(bootcampPersistencePort, never()).findAllAfter(any(), anyInt());
     }
 
     @Test
@@ -243,8 +424,6 @@ class BootcampUseCaseTest {
         CapacitySummary capacity = new CapacitySummary(1L, "Backend", List.of());
 
         when(bootcampPersistencePort.findById(bootcampId)).thenReturn(Mono.just(bootcamp));
-        when(bootcampPersistencePort.findCapacityIdsByBootcampId(bootcampId))
-                .thenReturn(Flux.just(1L, 2L));
         when(capacityExternalServicePort.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
                 .thenReturn(Flux.just(capacity));
 
@@ -272,11 +451,27 @@ class BootcampUseCaseTest {
                 .verify();
     }
 
+    @Test
+    void getBootcampVersion_ShouldNotCallCapacityService() {
+        // Arrange
+        when(bootcampPersistencePort.findVersionById(1L)).thenReturn(Mono.just("5f2b"));
+        when(bootcampPersistencePort.findVersionById(999L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.getBootcampVersion(1L, messageId))
+                .expectNext("1.5f2b")
+                .verifyComplete();
+        StepVerifier.create(bootcampUseCase.getBootcampVersion(999L, messageId))
+                .verifyComplete();
+
+        verifyNoInteractions(capacityExternalServicePort);
+    }
+
     @Test
     void deleteBootcamp_WithNonExistingBootcamp_ShouldThrowBusinessException() {
         // Arrange
         Long bootcampId = 999L;
-        when(bootcampPersistencePort.findById(bootcampId)).thenReturn(Mono.empty());
+        when(bootcampPersistencePort.deleteReturningOrphanCapacityIds(bootcampId)).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(bootcampUseCase.deleteBootcamp(bootcampId, messageId))
@@ -284,7 +479,68 @@ class BootcampUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BOOTCAMP_NOT_FOUND)
                 .verify();
 
-        verify(bootcampPersistencePort, never()).deleteById(anyLong());
+        verify(capacityExternalServicePort, never()).deleteCapacitiesByIds(anyList(), anyString());
+    }
+
+    @Test
+    void deleteBootcamp_WithOrphanCapacities_ShouldLeaveTheirCleanupToTheOutbox() {
+        // Arrange
+        Long bootcampId = 1L;
+        when(bootcampPersistencePort.deleteReturningOrphanCapacityIds(bootcampId)).thenReturn(Mono.just(List.of(2L)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.deleteBootcamp(bootcampId, messageId))
+                .verifyComplete();
+
+        verify(capacityExternalServicePort, never()).deleteCapacitiesByIds(anyList(), anyString());
+    }
+
+    @Test
+    void deleteBootcamps_ShouldReportEachIdAndLeaveCapacityCleanupToTheOutbox() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 1L, 3L);
+        when(bootcampPersistencePort.deleteAllReturningOrphanCapacityIds(List.of(1L, 2L, 3L)))
+                .thenReturn(Mono.just(new BootcampDeletion(List.of(1L, 3L), List.of(10L, 11L), List.of())));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.deleteBootcamps(ids, messageId))
+                .expectNext(List.of(
+                        new BulkItemResult(1L, TechnicalMessage.BOOTCAMP_DELETED),
+                        new BulkItemResult(2L, TechnicalMessage.BOOTCAMP_NOT_FOUND),
+                        new BulkItemResult(3L, TechnicalMessage.BOOTCAMP_DELETED)))
+                .verifyComplete();
+
+        verify(capacityExternalServicePort, never()).deleteCapacitiesByIds(anyList(), anyString());
+    }
+
+    @Test
+    void deleteBootcamps_WithFailedChunk_ShouldReportItsIdsAsFailedItems() {
+        // Arrange: el lote del 2 y el 3 se revirtió; el del 1 se confirmó
+        when(bootcampPersistencePort.deleteAllReturningOrphanCapacityIds(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(Mono.just(new BootcampDeletion(List.of(1L), List.of(10L), List.of(2L, 3L))));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.deleteBootcamps(List.of(1L, 2L, 3L, 4L), messageId))
+                .expectNext(List.of(
+                        new BulkItemResult(1L, TechnicalMessage.BOOTCAMP_DELETED),
+                        new BulkItemResult(2L, TechnicalMessage.BOOTCAMP_DELETE_FAILED),
+                        new BulkItemResult(3L, TechnicalMessage.BOOTCAMP_DELETE_FAILED),
+                        new BulkItemResult(4L, TechnicalMessage.BOOTCAMP_NOT_FOUND)))
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteBootcamps_WhenLimitExceeded_ShouldThrowBusinessException() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.deleteBootcamps(ids, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BULK_LIMIT_EXCEEDED)
+                .verify();
+
+        verifyNoInteractions(bootcampPersistencePort);
     }
 
     @Test
@@ -297,8 +553,27 @@ class BootcampUseCaseTest {
         StepVerifier.create(bootcampUseCase.checkBootcampsExist(ids, messageId))
                 .expectNextMatches(result ->
                     result.size() == 2 &&
-                    result.get(1L) &&
-                    result.get(2L)
+                    result.exists(1L) &&
+                    result.exists(2L)
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    void checkBootcampsExist_WithMissingAndDuplicatedIds_ShouldMarkOnlyExistingOnes() {
+        // Arrange
+        List<Long> ids = List.of(3L, 1L, 3L, 2L);
+        when(bootcampPersistencePort.findExistingIdsByIds(ids)).thenReturn(Flux.just(3L, 1L));
+
+        // Act & Assert
+        StepVerifier.create(bootcampUseCase.checkBootcampsExist(ids, messageId))
+                .expectNextMatches(result ->
+                    result.size() == 3 &&
+                    result.idAt(0) == 1L &&
+                    result.exists(1L) &&
+                    !result.exists(2L) &&
+                    result.exists(3L) &&
+                    !result.allExist()
                 )
                 .verifyComplete();
     }
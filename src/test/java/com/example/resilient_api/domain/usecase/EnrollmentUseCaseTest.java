@@ -4,7 +4,8 @@ import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
-import com.example.resilient_api.domain.spi.BootcampPersistencePort;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
 import com.example.resilient_api.domain.spi.EnrollmentPersistencePort;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,8 @@ import reactor.test.StepVerifier;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -30,9 +33,6 @@ class EnrollmentUseCaseTest {
     @Mock
     private EnrollmentPersistencePort enrollmentPersistencePort;
 
-    @Mock
-    private BootcampPersistencePort bootcampPersistencePort;
-
     @Mock
     private UserExternalServicePort userExternalServicePort;
 
@@ -40,13 +40,10 @@ class EnrollmentUseCaseTest {
     private EnrollmentUseCase enrollmentUseCase;
 
     private String messageId;
-    private Bootcamp validBootcamp;
 
     @BeforeEach
     void setUp() {
         messageId = "test-message-id-123";
-        validBootcamp = new Bootcamp(1L, "Java Bootcamp", "Java training",
-                LocalDate.now().plusDays(30), 90, List.of(1L, 2L));
     }
 
     @Test
@@ -58,11 +55,7 @@ class EnrollmentUseCaseTest {
 
         when(userExternalServicePort.checkUsersExist(List.of(userId), messageId))
                 .thenReturn(Mono.just(java.util.Map.of(userId, true)));
-        when(bootcampPersistencePort.findById(bootcampId)).thenReturn(Mono.just(validBootcamp));
-        when(enrollmentPersistencePort.isUserEnrolled(bootcampId, userId)).thenReturn(Mono.just(false));
-        when(enrollmentPersistencePort.countEnrollmentsByUserId(userId)).thenReturn(Mono.just(2L));
-        when(enrollmentPersistencePort.findBootcampsByUserId(userId)).thenReturn(Flux.empty());
-        when(enrollmentPersistencePort.enrollUser(bootcampId, userId)).thenReturn(Mono.just(enrollment));
+        when(enrollmentPersistencePort.enrollUser(bootcampId, userId, 5)).thenReturn(Mono.just(enrollment));
 
         // Act & Assert
         StepVerifier.create(enrollmentUseCase.enrollUserInBootcamp(bootcampId, userId, messageId))
@@ -70,9 +63,51 @@ class EnrollmentUseCaseTest {
                 .verifyComplete();
 
         verify(userExternalServicePort).checkUsersExist(List.of(userId), messageId);
-        verify(bootcampPersistencePort).findById(bootcampId);
-        verify(enrollmentPersistencePort).isUserEnrolled(bootcampId, userId);
-        verify(enrollmentPersistencePort).enrollUser(bootcampId, userId);
+        verify(enrollmentPersistencePort).enrollUser(bootcampId, userId, 5);
+        verify(enrollmentPersistencePort, never()).isUserEnrolled(anyLong(), anyLong());
+        verify(enrollmentPersistencePort, never()).findBootcampsByUserId(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void enrollUsers_ShouldCheckAllUsersOnceAndKeepRequestOrder() {
+        // Arrange
+        EnrollmentRequest first = new EnrollmentRequest(1L, 100L);
+        EnrollmentRequest unknownUser = new EnrollmentRequest(1L, 200L);
+        EnrollmentRequest missingBootcamp = new EnrollmentRequest(null, 100L);
+        EnrollmentRequest second = new EnrollmentRequest(2L, 100L);
+        List<EnrollmentRequest> enrollments = List.of(first, unknownUser, missingBootcamp, second);
+
+        when(userExternalServicePort.checkUsersExist(List.of(100L, 200L), messageId))
+                .thenReturn(Mono.just(Map.of(100L, true, 200L, false)));
+        when(enrollmentPersistencePort.enrollUsers(List.of(first, second), 5))
+                .thenReturn(Mono.just(List.of(
+                        new EnrollmentResult(1L, 100L, 10L, TechnicalMessage.ENROLLMENT_CREATED),
+                        new EnrollmentResult(2L, 100L, null, TechnicalMessage.BOOTCAMP_DATE_CONFLICT))));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.enrollUsers(enrollments, messageId))
+                .expectNext(List.of(
+                        new EnrollmentResult(1L, 100L, 10L, TechnicalMessage.ENROLLMENT_CREATED),
+                        new EnrollmentResult(1L, 200L, null, TechnicalMessage.USER_NOT_FOUND),
+                        new EnrollmentResult(null, 100L, null, TechnicalMessage.INVALID_PARAMETERS),
+                        new EnrollmentResult(2L, 100L, null, TechnicalMessage.BOOTCAMP_DATE_CONFLICT)))
+                .verifyComplete();
+
+        verify(userExternalServicePort, times(1)).checkUsersExist(anyList(), anyString());
+    }
+
+    @Test
+    void enrollUsers_WhenNoUserExists_ShouldNotTouchPersistence() {
+        // Arrange
+        when(userExternalServicePort.checkUsersExist(List.of(100L), messageId))
+                .thenReturn(Mono.just(Map.of()));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.enrollUsers(List.of(new EnrollmentRequest(1L, 100L)), messageId))
+                .expectNext(List.of(new EnrollmentResult(1L, 100L, null, TechnicalMessage.USER_NOT_FOUND)))
+                .verifyComplete();
+
+        verifyNoInteractions(enrollmentPersistencePort);
     }
 
     @Test
@@ -90,7 +125,7 @@ class EnrollmentUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_NOT_FOUND)
                 .verify();
 
-        verify(enrollmentPersistencePort, never()).enrollUser(anyLong(), anyLong());
+        verify(enrollmentPersistencePort, never()).enrollUser(anyLong(), anyLong(), anyInt());
     }
 
     @Test
@@ -101,7 +136,8 @@ class EnrollmentUseCaseTest {
 
         when(userExternalServicePort.checkUsersExist(List.of(userId), messageId))
                 .thenReturn(Mono.just(java.util.Map.of(userId, true)));
-        when(bootcampPersistencePort.findById(bootcampId)).thenReturn(Mono.empty());
+        when(enrollmentPersistencePort.enrollUser(bootcampId, userId, 5))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)));
 
         // Act & Assert
         StepVerifier.create(enrollmentUseCase.enrollUserInBootcamp(bootcampId, userId, messageId))
@@ -109,7 +145,7 @@ class EnrollmentUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BOOTCAMP_NOT_FOUND)
                 .verify();
 
-        verify(enrollmentPersistencePort, never()).enrollUser(anyLong(), anyLong());
+        verify(enrollmentPersistencePort).enrollUser(bootcampId, userId, 5);
     }
 
     @Test
@@ -120,8 +156,8 @@ class EnrollmentUseCaseTest {
 
         when(userExternalServicePort.checkUsersExist(List.of(userId), messageId))
                 .thenReturn(Mono.just(java.util.Map.of(userId, true)));
-        when(bootcampPersistencePort.findById(bootcampId)).thenReturn(Mono.just(validBootcamp));
-        when(enrollmentPersistencePort.isUserEnrolled(bootcampId, userId)).thenReturn(Mono.just(true));
+        when(enrollmentPersistencePort.enrollUser(bootcampId, userId, 5))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.USER_ALREADY_ENROLLED)));
 
         // Act & Assert
         StepVerifier.create(enrollmentUseCase.enrollUserInBootcamp(bootcampId, userId, messageId))
@@ -129,7 +165,25 @@ class EnrollmentUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_ALREADY_ENROLLED)
                 .verify();
 
-        verify(enrollmentPersistencePort, never()).enrollUser(anyLong(), anyLong());
+        verify(enrollmentPersistencePort).enrollUser(bootcampId, userId, 5);
+    }
+
+    @Test
+    void enrollUserInBootcamp_WhenDatesOverlap_ShouldPropagateBusinessException() {
+        // Arrange
+        Long bootcampId = 1L;
+        Long userId = 100L;
+
+        when(userExternalServicePort.checkUsersExist(List.of(userId), messageId))
+                .thenReturn(Mono.just(java.util.Map.of(userId, true)));
+        when(enrollmentPersistencePort.enrollUser(bootcampId, userId, 5))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_DATE_CONFLICT)));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.enrollUserInBootcamp(bootcampId, userId, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BOOTCAMP_DATE_CONFLICT)
+                .verify();
     }
 
     @Test
@@ -177,17 +231,17 @@ class EnrollmentUseCaseTest {
 
         when(userExternalServicePort.checkUsersExist(List.of(userId), messageId))
                 .thenReturn(Mono.just(java.util.Map.of(userId, true)));
-        when(enrollmentPersistencePort.findBootcampsByUserId(userId))
+        when(enrollmentPersistencePort.findBootcampsByUserId(userId, false))
                 .thenReturn(Flux.just(bootcamp1, bootcamp2));
 
         // Act & Assert
-        StepVerifier.create(enrollmentUseCase.getUserBootcamps(userId, messageId))
+        StepVerifier.create(enrollmentUseCase.getUserBootcamps(userId, false, messageId))
                 .expectNext(bootcamp1)
                 .expectNext(bootcamp2)
                 .verifyComplete();
 
         verify(userExternalServicePort).checkUsersExist(List.of(userId), messageId);
-        verify(enrollmentPersistencePort).findBootcampsByUserId(userId);
+        verify(enrollmentPersistencePort).findBootcampsByUserId(userId, false);
     }
 
     @Test
@@ -199,12 +253,55 @@ class EnrollmentUseCaseTest {
                 .thenReturn(Mono.just(java.util.Map.of(userId, false)));
 
         // Act & Assert
-        StepVerifier.create(enrollmentUseCase.getUserBootcamps(userId, messageId))
+        StepVerifier.create(enrollmentUseCase.getUserBootcamps(userId, false, messageId))
                 .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_NOT_FOUND)
                 .verify();
 
-        verify(enrollmentPersistencePort, never()).findBootcampsByUserId(anyLong());
+        verify(enrollmentPersistencePort, never()).findBootcampsByUserId(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void getBootcampsByUserIds_ShouldQueryDistinctUserIdsOnce() {
+        // Arrange
+        Bootcamp bootcamp = new Bootcamp(1L, "Java Bootcamp", "Java training",
+                LocalDate.now(), 90, List.of(1L, 2L));
+        Map<Long, List<Bootcamp>> bootcampsByUser = Map.of(100L, List.of(bootcamp), 200L, List.of());
+
+        when(enrollmentPersistencePort.findBootcampsByUserIds(List.of(100L, 200L), true))
+                .thenReturn(Mono.just(bootcampsByUser));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.getBootcampsByUserIds(List.of(100L, 200L, 100L), true, messageId))
+                .expectNext(bootcampsByUser)
+                .verifyComplete();
+
+        verifyNoInteractions(userExternalServicePort);
+    }
+
+    @Test
+    void getBootcampsByUserIds_WithNoUserIds_ShouldReturnEmptyMapWithoutQuerying() {
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.getBootcampsByUserIds(List.of(), false, messageId))
+                .expectNext(Map.of())
+                .verifyComplete();
+
+        verify(enrollmentPersistencePort, never()).findBootcampsByUserIds(anyList(), anyBoolean());
+    }
+
+    @Test
+    void getBootcampsByUserIds_WhenLimitExceeded_ShouldThrowBusinessException() {
+        // Arrange
+        List<Long> userIds = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        // Act & Assert
+        StepVerifier.create(enrollmentUseCase.getBootcampsByUserIds(userIds, false, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.BULK_LIMIT_EXCEEDED
+                        && businessException.getParam().equals("userIds"))
+                .verify();
+
+        verifyNoInteractions(enrollmentPersistencePort);
     }
 
     @Test
@@ -0,0 +1,111 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.domain.api.BootcampServicePort;
+import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBootcampServiceAdapterTest {
+
+    @Mock
+    private BootcampServicePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong nanos;
+    private Queue<Runnable> backgroundTasks;
+    private CachingBootcampServiceAdapter adapter;
+
+    private final String messageId = "test-message-id-123";
+    private final BootcampWithCapacities bootcamp = new BootcampWithCapacities(
+            1L, "Java Bootcamp", "Learn Java", LocalDate.of(2026, 1, 15), 12, List.of());
+    private final BootcampWithCapacities renamedBootcamp = new BootcampWithCapacities(
+            1L, "Java Bootcamp 2026", "Learn Java", LocalDate.of(2026, 1, 15), 12, List.of());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = new AtomicLong();
+        backgroundTasks = new ArrayDeque<>();
+        adapter = new CachingBootcampServiceAdapter(delegate, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(2), nanos::get, backgroundTasks::add);
+    }
+
+    @Test
+    void getBootcampById_WithConcurrentMisses_ShouldShareOneLoad() {
+        // Arrange
+        Sinks.One<BootcampWithCapacities> pending = Sinks.one();
+        when(delegate.getBootcampById(1L, messageId)).thenReturn(pending.asMono());
+
+        // Act
+        Mono<BootcampWithCapacities> first = adapter.getBootcampById(1L, messageId).cache();
+        Mono<BootcampWithCapacities> second = adapter.getBootcampById(1L, messageId).cache();
+        first.subscribe();
+        second.subscribe();
+        pending.tryEmitValue(bootcamp);
+
+        // Assert
+        StepVerifier.create(first).expectNext(bootcamp).verifyComplete();
+        StepVerifier.create(second).expectNext(bootcamp).verifyComplete();
+        verify(delegate, times(1)).getBootcampById(eq(1L), anyString());
+        assertEquals(1L, meterRegistry.get("bootcamp.cache.load").timer().count());
+    }
+
+    @Test
+    void deleteBootcamp_ShouldInvalidateCachedEntry() {
+        // Arrange
+        when(delegate.getBootcampById(1L, messageId))
+                .thenReturn(Mono.just(bootcamp))
+                .thenReturn(Mono.empty());
+        when(delegate.deleteBootcamp(1L, messageId)).thenReturn(Mono.empty());
+        StepVerifier.create(adapter.getBootcampById(1L, messageId)).expectNext(bootcamp).verifyComplete();
+
+        // Act
+        StepVerifier.create(adapter.deleteBootcamp(1L, messageId)).verifyComplete();
+
+        // Assert
+        StepVerifier.create(adapter.getBootcampById(1L, messageId)).verifyComplete();
+        verify(delegate, times(2)).getBootcampById(1L, messageId);
+    }
+
+    @Test
+    void getBootcampById_AfterRefreshAfter_ShouldServeCachedValueAndReloadInBackground() {
+        // Arrange
+        when(delegate.getBootcampById(eq(1L), anyString()))
+                .thenReturn(Mono.just(bootcamp))
+                .thenReturn(Mono.just(renamedBootcamp));
+        StepVerifier.create(adapter.getBootcampById(1L, messageId)).expectNext(bootcamp).verifyComplete();
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        // Act & Assert
+        StepVerifier.create(adapter.getBootcampById(1L, messageId)).expectNext(bootcamp).verifyComplete();
+        runBackgroundTasks();
+        StepVerifier.create(adapter.getBootcampById(1L, messageId)).expectNext(renamedBootcamp).verifyComplete();
+        verify(delegate, times(2)).getBootcampById(eq(1L), anyString());
+    }
+
+    private void runBackgroundTasks() {
+        while (!backgroundTasks.isEmpty()) {
+            backgroundTasks.poll().run();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.application.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresCacheInvalidationBusTest {
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private PostgresqlConnection connection;
+
+    @Mock
+    private PostgresqlStatement listenStatement;
+
+    @Mock
+    private PostgresqlResult listenResult;
+
+    @Mock
+    private CacheInvalidationListener listener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostgresCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new PostgresCacheInvalidationBus(connectionFactory, meterRegistry, longBackoff());
+        bus.register(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    void start_ShouldFlushOnListenAndEvictNotifiedKeys() {
+        // Arrange
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        when(connection.createStatement("LISTEN bootcamp_cache_invalidation")).thenReturn(listenStatement);
+        when(listenStatement.execute()).thenReturn(Flux.just(listenResult));
+        when(listenResult.getRowsUpdated()).thenReturn(Mono.just(0L));
+        Notification notification = notification("bootcamp:1,2");
+        when(connection.getNotifications()).thenReturn(Flux.just(notification));
+        when(connection.close()).thenReturn(Mono.empty());
+
+        // Act
+        bus.start();
+
+        // Assert
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).invalidateAll();
+        inOrder.verify(listener).invalidate(new CacheInvalidation(CacheInvalidation.Kind.BOOTCAMP, List.of(1L, 2L)));
+        verify(connection).close();
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.received").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.resyncs").counter().count());
+    }
+
+    @Test
+    void start_WithUnreadablePayload_ShouldFlushEveryCache() {
+        // Arrange
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        when(connection.createStatement("LISTEN bootcamp_cache_invalidation")).thenReturn(listenStatement);
+        when(listenStatement.execute()).thenReturn(Flux.just(listenResult));
+        when(listenResult.getRowsUpdated()).thenReturn(Mono.just(0L));
+        Notification notification = notification("course:abc");
+        when(connection.getNotifications()).thenReturn(Flux.just(notification));
+        when(connection.close()).thenReturn(Mono.empty());
+
+        // Act
+        bus.start();
+
+        // Assert
+        verify(listener, times(2)).invalidateAll();
+        verify(listener, never()).invalidate(any());
+        assertEquals(2.0, meterRegistry.get("cache.invalidation.resyncs").counter().count());
+    }
+
+    @Test
+    void start_WhenAListenerFails_ShouldKeepNotifyingTheOthersAndLaterPayloads() {
+        // Arrange
+        CacheInvalidationListener failingListener = mock(CacheInvalidationListener.class);
+        doThrow(new IllegalStateException("boom")).when(failingListener).invalidateAll();
+        doThrow(new IllegalStateException("boom")).when(failingListener).invalidate(any());
+        PostgresCacheInvalidationBus failingFirstBus = new PostgresCacheInvalidationBus(connectionFactory,
+                new SimpleMeterRegistry(), longBackoff());
+        failingFirstBus.register(failingListener);
+        failingFirstBus.register(listener);
+
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        when(connection.createStatement("LISTEN bootcamp_cache_invalidation")).thenReturn(listenStatement);
+        when(listenStatement.execute()).thenReturn(Flux.just(listenResult));
+        when(listenResult.getRowsUpdated()).thenReturn(Mono.just(0L));
+        Notification first = notification("bootcamp:1");
+        Notification second = notification("capacity:7");
+        when(connection.getNotifications()).thenReturn(Flux.just(first, second));
+        when(connection.close()).thenReturn(Mono.empty());
+
+        // Act
+        failingFirstBus.start();
+        failingFirstBus.stop();
+
+        // Assert
+        verify(failingListener).invalidateAll();
+        verify(failingListener, times(2)).invalidate(any());
+        verify(listener).invalidateAll();
+        verify(listener).invalidate(new CacheInvalidation(CacheInvalidation.Kind.BOOTCAMP, List.of(1L)));
+        verify(listener).invalidate(new CacheInvalidation(CacheInvalidation.Kind.CAPACITY, List.of(7L)));
+    }
+
+    /**
+     * Backoff largo: la reconexión no llega a ejecutarse durante el test
+     */
+    private static CacheProperties.Invalidation longBackoff() {
+        CacheProperties.Invalidation properties = new CacheProperties.Invalidation();
+        properties.setMinBackoff(Duration.ofHours(1));
+        return properties;
+    }
+
+    private Notification notification(String payload) {
+        Notification notification = mock(Notification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
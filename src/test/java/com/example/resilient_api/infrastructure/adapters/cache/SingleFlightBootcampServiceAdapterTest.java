@@ -0,0 +1,146 @@
+package com.example.resilient_api.infrastructure.adapters.cache;
+
+import com.example.resilient_api.domain.api.BootcampServicePort;
+import com.example.resilient_api.domain.model.BootcampWithCapacities;
+import com.example.resilient_api.domain.model.Page;
+import com.example.resilient_api.domain.model.PaginationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightBootcampServiceAdapterTest {
+
+    @Mock
+    private BootcampServicePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightBootcampServiceAdapter adapter;
+
+    private final PaginationRequest firstPage = new PaginationRequest(0, 10, null, null);
+    private final Page<BootcampWithCapacities> page = Page.of(List.of(), 0, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new SingleFlightBootcampServiceAdapter(delegate, meterRegistry);
+    }
+
+    @Test
+    void listBootcamps_WithIdenticalRequestInFlight_ShouldShareOneExecution() {
+        // Arrange
+        Sinks.One<Page<BootcampWithCapacities>> pending = Sinks.one();
+        when(delegate.listBootcamps(firstPage, "message-1")).thenReturn(pending.asMono());
+
+        // Act
+        Mono<Page<BootcampWithCapacities>> first = adapter.listBootcamps(firstPage, "message-1").cache();
+        Mono<Page<BootcampWithCapacities>> second = adapter.listBootcamps(
+                new PaginationRequest(0, 10, null, null), "message-2").cache();
+        first.subscribe();
+        second.subscribe();
+        pending.tryEmitValue(page);
+
+        // Assert
+        StepVerifier.create(first).expectNext(page).verifyComplete();
+        StepVerifier.create(second).expectNext(page).verifyComplete();
+        verify(delegate, times(1)).listBootcamps(any(), anyString());
+        assertEquals(1.0, meterRegistry.get("bootcamp.read.singleflight").tag("result", "executed").counter().count());
+        assertEquals(1.0, meterRegistry.get("bootcamp.read.singleflight").tag("result", "collapsed").counter().count());
+    }
+
+    @Test
+    void listBootcamps_AfterCompletion_ShouldNotReuseResult() {
+        // Arrange
+        when(delegate.listBootcamps(firstPage, "message-1")).thenReturn(Mono.just(page));
+
+        // Act & Assert
+        StepVerifier.create(adapter.listBootcamps(firstPage, "message-1")).expectNext(page).verifyComplete();
+        StepVerifier.create(adapter.listBootcamps(firstPage, "message-1")).expectNext(page).verifyComplete();
+
+        verify(delegate, times(2)).listBootcamps(firstPage, "message-1");
+        assertEquals(0.0, meterRegistry.get("bootcamp.read.singleflight.inflight").gauge().value());
+    }
+
+    @Test
+    void listBootcamps_WithDifferentParameters_ShouldExecuteEach() {
+        // Arrange
+        PaginationRequest secondPage = new PaginationRequest(1, 10, null, null);
+        Sinks.One<Page<BootcampWithCapacities>> pending = Sinks.one();
+        when(delegate.listBootcamps(firstPage, "message-1")).thenReturn(pending.asMono());
+        when(delegate.listBootcamps(secondPage, "message-1")).thenReturn(Mono.just(page));
+
+        // Act
+        Mono<Page<BootcampWithCapacities>> first = adapter.listBootcamps(firstPage, "message-1").cache();
+        first.subscribe();
+
+        // Assert
+        StepVerifier.create(adapter.listBootcamps(secondPage, "message-1")).expectNext(page).verifyComplete();
+        pending.tryEmitValue(page);
+        StepVerifier.create(first).expectNext(page).verifyComplete();
+        assertEquals(2.0, meterRegistry.get("bootcamp.read.singleflight").tag("result", "executed").counter().count());
+    }
+
+    @Test
+    void listBootcamps_WhenOlderFlightEndsAfterWrite_ShouldKeepNewerFlight() {
+        // Arrange
+        Sinks.One<Page<BootcampWithCapacities>> older = Sinks.one();
+        Sinks.One<Page<BootcampWithCapacities>> newer = Sinks.one();
+        Page<BootcampWithCapacities> afterDelete = Page.of(List.of(), 0, 10, 0);
+        when(delegate.listBootcamps(firstPage, "message-1"))
+                .thenReturn(older.asMono())
+                .thenReturn(newer.asMono());
+        when(delegate.deleteBootcamp(1L, "message-1")).thenReturn(Mono.empty());
+
+        // Act
+        Mono<Page<BootcampWithCapacities>> beforeWrite = adapter.listBootcamps(firstPage, "message-1").cache();
+        beforeWrite.subscribe();
+        StepVerifier.create(adapter.deleteBootcamp(1L, "message-1")).verifyComplete();
+        Mono<Page<BootcampWithCapacities>> afterWrite = adapter.listBootcamps(firstPage, "message-1").cache();
+        afterWrite.subscribe();
+        older.tryEmitValue(page);
+        Mono<Page<BootcampWithCapacities>> collapsed = adapter.listBootcamps(firstPage, "message-1").cache();
+        collapsed.subscribe();
+        newer.tryEmitValue(afterDelete);
+
+        // Assert
+        StepVerifier.create(beforeWrite).expectNext(page).verifyComplete();
+        StepVerifier.create(afterWrite).expectNextMatches(result -> result == afterDelete).verifyComplete();
+        StepVerifier.create(collapsed).expectNextMatches(result -> result == afterDelete).verifyComplete();
+        verify(delegate, times(2)).listBootcamps(firstPage, "message-1");
+        assertEquals(1.0, meterRegistry.get("bootcamp.read.singleflight").tag("result", "collapsed").counter().count());
+        assertEquals(0.0, meterRegistry.get("bootcamp.read.singleflight.inflight").gauge().value());
+    }
+
+    @Test
+    void invalidate_WithBootcampChange_ShouldNotCollapseIntoEarlierFlight() {
+        // Arrange
+        Sinks.One<Page<BootcampWithCapacities>> older = Sinks.one();
+        when(delegate.listBootcamps(firstPage, "message-1"))
+                .thenReturn(older.asMono())
+                .thenReturn(Mono.just(page));
+
+        // Act
+        Mono<Page<BootcampWithCapacities>> beforeChange = adapter.listBootcamps(firstPage, "message-1").cache();
+        beforeChange.subscribe();
+        adapter.invalidate(new CacheInvalidation(CacheInvalidation.Kind.BOOTCAMP, List.of(1L)));
+
+        // Assert
+        StepVerifier.create(adapter.listBootcamps(firstPage, "message-1")).expectNext(page).verifyComplete();
+        older.tryEmitValue(page);
+        StepVerifier.create(beforeChange).expectNext(page).verifyComplete();
+        assertEquals(2.0, meterRegistry.get("bootcamp.read.singleflight").tag("result", "executed").counter().count());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingCapacityExternalServiceAdapterTest {
+
+    @Mock
+    private CapacityExternalServicePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualTimeScheduler scheduler;
+
+    private final String messageId = "test-message-id-123";
+    private final CapacitySummary backend = new CapacitySummary(1L, "Backend", List.of());
+    private final CapacitySummary frontend = new CapacitySummary(2L, "Frontend", List.of());
+    private final CapacitySummary mobile = new CapacitySummary(3L, "Mobile", List.of());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WithinWindow_ShouldSendOneDeduplicatedCall() {
+        // Arrange
+        BatchingCapacityExternalServiceAdapter adapter = new BatchingCapacityExternalServiceAdapter(
+                delegate, meterRegistry, Duration.ofMillis(10), 100, scheduler);
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L, 2L, 3L), messageId))
+                .thenReturn(Flux.just(backend, frontend, mobile));
+
+        // Act
+        Mono<List<CapacitySummary>> first = adapter.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId)
+                .collectList().cache();
+        Mono<List<CapacitySummary>> second = adapter.getCapacitiesWithTechnologies(List.of(2L, 3L), messageId)
+                .collectList().cache();
+        first.subscribe();
+        second.subscribe();
+        verifyNoInteractions(delegate);
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+
+        // Assert
+        StepVerifier.create(first).expectNext(List.of(backend, frontend)).verifyComplete();
+        StepVerifier.create(second).expectNext(List.of(frontend, mobile)).verifyComplete();
+        verify(delegate, times(1)).getCapacitiesWithTechnologies(anyList(), anyString());
+        assertEquals(1L, meterRegistry.get("capacity.batch.size").summary().count());
+        assertEquals(3.0, meterRegistry.get("capacity.batch.size").summary().totalAmount());
+        assertEquals(2L, meterRegistry.get("capacity.batch.wait").timer().count());
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WhenMaxBatchSizeReached_ShouldDispatchImmediately() {
+        // Arrange
+        BatchingCapacityExternalServiceAdapter adapter = new BatchingCapacityExternalServiceAdapter(
+                delegate, meterRegistry, Duration.ofSeconds(10), 2, scheduler);
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
+                .thenReturn(Flux.just(backend, frontend));
+
+        // Act & Assert
+        StepVerifier.create(adapter.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
+                .expectNext(backend, frontend)
+                .verifyComplete();
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WhenDownstreamFails_ShouldPropagateErrorToEveryCaller() {
+        // Arrange
+        BatchingCapacityExternalServiceAdapter adapter = new BatchingCapacityExternalServiceAdapter(
+                delegate, meterRegistry, Duration.ofMillis(10), 100, scheduler);
+        when(delegate.getCapacitiesWithTechnologies(anyList(), anyString()))
+                .thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        // Act
+        Mono<List<CapacitySummary>> first = adapter.getCapacitiesWithTechnologies(List.of(1L), messageId)
+                .collectList().cache();
+        Mono<List<CapacitySummary>> second = adapter.getCapacitiesWithTechnologies(List.of(2L), messageId)
+                .collectList().cache();
+        first.subscribe(v -> { }, e -> { });
+        second.subscribe(v -> { }, e -> { });
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+
+        // Assert
+        StepVerifier.create(first).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(second).expectError(IllegalStateException.class).verify();
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WhenCallerCancelsBeforeDispatch_ShouldLeaveItsIdsOutOfTheBatch() {
+        // Arrange
+        BatchingCapacityExternalServiceAdapter adapter = new BatchingCapacityExternalServiceAdapter(
+                delegate, meterRegistry, Duration.ofMillis(10), 100, scheduler);
+        when(delegate.getCapacitiesWithTechnologies(List.of(3L), "other-message-id"))
+                .thenReturn(Flux.just(mobile));
+
+        // Act
+        Disposable cancelled = adapter.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId).subscribe();
+        Mono<List<CapacitySummary>> remaining = adapter.getCapacitiesWithTechnologies(List.of(3L), "other-message-id")
+                .collectList().cache();
+        remaining.subscribe();
+        cancelled.dispose();
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+
+        // Assert
+        StepVerifier.create(remaining).expectNext(List.of(mobile)).verifyComplete();
+        verify(delegate, times(1)).getCapacitiesWithTechnologies(anyList(), anyString());
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WhenEveryCallerOfAnInFlightBatchCancels_ShouldCancelTheCall() {
+        // Arrange
+        BatchingCapacityExternalServiceAdapter adapter = new BatchingCapacityExternalServiceAdapter(
+                delegate, meterRegistry, Duration.ofMillis(10), 100, scheduler);
+        AtomicBoolean callCancelled = new AtomicBoolean();
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
+                .thenReturn(Flux.<CapacitySummary>never().doOnCancel(() -> callCancelled.set(true)));
+
+        // Act
+        Disposable first = adapter.getCapacitiesWithTechnologies(List.of(1L), messageId).subscribe();
+        Disposable second = adapter.getCapacitiesWithTechnologies(List.of(2L), messageId).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        first.dispose();
+
+        // Assert
+        assertFalse(callCancelled.get());
+        second.dispose();
+        assertTrue(callCancelled.get());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.CapacitySummary;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCapacityExternalServiceAdapterTest {
+
+    @Mock
+    private CapacityExternalServicePort delegate;
+
+    private CachingCapacityExternalServiceAdapter adapter;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final String messageId = "test-message-id-123";
+    private final CapacitySummary backend = new CapacitySummary(1L, "Backend", List.of());
+    private final CapacitySummary frontend = new CapacitySummary(2L, "Frontend", List.of());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingCapacityExternalServiceAdapter(delegate, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_ShouldOnlyFetchMissingIds() {
+        // Arrange
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L), messageId)).thenReturn(Flux.just(backend));
+        when(delegate.getCapacitiesWithTechnologies(List.of(2L), messageId)).thenReturn(Flux.just(frontend));
+
+        // Act & Assert
+        StepVerifier.create(adapter.getCapacitiesWithTechnologies(List.of(1L), messageId))
+                .expectNext(backend)
+                .verifyComplete();
+
+        StepVerifier.create(adapter.getCapacitiesWithTechnologies(List.of(1L, 2L), messageId))
+                .expectNext(backend, frontend)
+                .verifyComplete();
+
+        verify(delegate).getCapacitiesWithTechnologies(List.of(1L), messageId);
+        verify(delegate).getCapacitiesWithTechnologies(List.of(2L), messageId);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_WithConcurrentMisses_ShouldShareInFlightCall() {
+        // Arrange
+        Sinks.One<CapacitySummary> response = Sinks.one();
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L), messageId)).thenReturn(response.asMono().flux());
+
+        // Act
+        Mono<List<CapacitySummary>> first = adapter.getCapacitiesWithTechnologies(List.of(1L), messageId).collectList().cache();
+        Mono<List<CapacitySummary>> second = adapter.getCapacitiesWithTechnologies(List.of(1L), messageId).collectList().cache();
+        first.subscribe();
+        second.subscribe();
+        response.tryEmitValue(backend);
+
+        // Assert
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(tuple -> tuple.getT1().equals(List.of(backend)) && tuple.getT2().equals(List.of(backend)))
+                .verifyComplete();
+
+        verify(delegate, times(1)).getCapacitiesWithTechnologies(anyList(), anyString());
+    }
+
+    @Test
+    void deleteCapacitiesByIds_ShouldEvictDeletedIds() {
+        // Arrange
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L), messageId)).thenReturn(Flux.just(backend));
+        when(delegate.deleteCapacitiesByIds(List.of(1L), messageId)).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(adapter.getCapacitiesWithTechnologies(List.of(1L), messageId))
+                .expectNext(backend)
+                .verifyComplete();
+        StepVerifier.create(adapter.deleteCapacitiesByIds(List.of(1L), messageId))
+                .verifyComplete();
+        StepVerifier.create(adapter.getCapacitiesWithTechnologies(List.of(1L), messageId))
+                .expectNext(backend)
+                .verifyComplete();
+
+        // Assert
+        verify(delegate, times(2)).getCapacitiesWithTechnologies(List.of(1L), messageId);
+    }
+
+    @Test
+    void getCapacitiesWithTechnologies_ShouldRecordHitAndMissMetrics() {
+        // Arrange
+        when(delegate.getCapacitiesWithTechnologies(List.of(1L), messageId)).thenReturn(Flux.just(backend));
+
+        // Act
+        adapter.getCapacitiesWithTechnologies(List.of(1L), messageId).blockLast();
+        adapter.getCapacitiesWithTechnologies(List.of(1L), messageId).blockLast();
+
+        // Assert
+        double hits = meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count();
+        double misses = meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count();
+        long loads = meterRegistry.get("capacity.cache.load").timer().count();
+
+        assertEquals(1.0, hits);
+        assertEquals(1.0, misses);
+        assertEquals(1L, loads);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserExternalServiceAdapterTest {
+
+    @Mock
+    private UserExternalServicePort delegate;
+
+    private AtomicLong nanos;
+    private CachingUserExternalServiceAdapter adapter;
+
+    private final String messageId = "test-message-id-123";
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        adapter = new CachingUserExternalServiceAdapter(delegate, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), nanos::get);
+    }
+
+    @Test
+    void checkUsersExist_ShouldOnlyQueryUnseenIdsAndCacheMissingOnesAsNegative() {
+        // Arrange
+        when(delegate.checkUsersExist(List.of(100L), messageId)).thenReturn(Mono.just(Map.of(100L, true)));
+        when(delegate.checkUsersExist(List.of(200L, 300L), messageId)).thenReturn(Mono.just(Map.of(200L, true)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L), messageId))
+                .expectNext(Map.of(100L, true))
+                .verifyComplete();
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L, 200L, 300L), messageId))
+                .expectNext(Map.of(100L, true, 200L, true, 300L, false))
+                .verifyComplete();
+        StepVerifier.create(adapter.checkUsersExist(List.of(300L, 100L), messageId))
+                .expectNext(Map.of(100L, true, 300L, false))
+                .verifyComplete();
+
+        verify(delegate).checkUsersExist(List.of(100L), messageId);
+        verify(delegate).checkUsersExist(List.of(200L, 300L), messageId);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void checkUsersExist_AfterNegativeTtl_ShouldQueryMissingUserAgainButKeepExistingOne() {
+        // Arrange
+        when(delegate.checkUsersExist(List.of(100L, 200L), messageId))
+                .thenReturn(Mono.just(Map.of(100L, true, 200L, false)));
+        when(delegate.checkUsersExist(List.of(200L), messageId)).thenReturn(Mono.just(Map.of(200L, true)));
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L, 200L), messageId))
+                .expectNext(Map.of(100L, true, 200L, false))
+                .verifyComplete();
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // Assert
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L, 200L), messageId))
+                .expectNext(Map.of(100L, true, 200L, true))
+                .verifyComplete();
+        verify(delegate).checkUsersExist(List.of(200L), messageId);
+    }
+
+    @Test
+    void checkUsersExist_WhenUserServiceFails_ShouldNotCacheFailure() {
+        // Arrange
+        when(delegate.checkUsersExist(List.of(100L), messageId))
+                .thenReturn(Mono.error(new IllegalStateException("user service down")))
+                .thenReturn(Mono.just(Map.of(100L, true)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L), messageId))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(adapter.checkUsersExist(List.of(100L), messageId))
+                .expectNext(Map.of(100L, true))
+                .verifyComplete();
+    }
+}
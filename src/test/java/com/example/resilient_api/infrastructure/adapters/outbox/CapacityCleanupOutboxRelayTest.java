@@ -0,0 +1,113 @@
+package com.example.resilient_api.infrastructure.adapters.outbox;
+
+import com.example.resilient_api.application.config.OutboxProperties;
+import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.CapacityCleanupOutboxEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.CapacityCleanupOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CapacityCleanupOutboxRelayTest {
+
+    @Mock
+    private CapacityCleanupOutboxRepository capacityCleanupOutboxRepository;
+
+    @Mock
+    private CapacityExternalServicePort capacityExternalServicePort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CapacityCleanupOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OutboxProperties outboxProperties = new OutboxProperties();
+        outboxProperties.getCapacityCleanup().setBatchSize(2);
+        outboxProperties.getCapacityCleanup().setMaxAttempts(3);
+
+        relay = new CapacityCleanupOutboxRelay(capacityCleanupOutboxRepository, capacityExternalServicePort,
+                meterRegistry, outboxProperties);
+    }
+
+    @Test
+    void drain_ShouldDeleteDistinctCapacitiesInOneCallAndKeepDrainingFullBatches() {
+        // Arrange: la capacidad 7 llegó dos veces, desde dos borrados distintos
+        when(capacityCleanupOutboxRepository.claimBatch(eq(2), any(), any()))
+                .thenReturn(Flux.just(row(10L, 7L, 0), row(11L, 7L, 0)))
+                .thenReturn(Flux.just(row(12L, 8L, 0)));
+        when(capacityExternalServicePort.deleteCapacitiesByIds(anyList(), anyString())).thenReturn(Mono.empty());
+        when(capacityCleanupOutboxRepository.deleteClaimed(anyCollection())).thenReturn(Mono.just(1));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(capacityExternalServicePort).deleteCapacitiesByIds(eq(List.of(7L)), startsWith("capacity-cleanup-"));
+        verify(capacityExternalServicePort).deleteCapacitiesByIds(eq(List.of(8L)), startsWith("capacity-cleanup-"));
+        verify(capacityCleanupOutboxRepository).deleteClaimed(List.of(10L, 11L));
+        verify(capacityCleanupOutboxRepository).deleteClaimed(List.of(12L));
+        assertEquals(2.0, meterRegistry.get("capacity.cleanup.outbox.deleted").counter().count());
+    }
+
+    @Test
+    void drain_WhenCapacityServiceFails_ShouldKeepTheRowsAndScheduleARetry() {
+        // Arrange
+        when(capacityCleanupOutboxRepository.claimBatch(eq(2), any(), any()))
+                .thenReturn(Flux.just(row(10L, 7L, 0)));
+        when(capacityExternalServicePort.deleteCapacitiesByIds(anyList(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("capacity-api unavailable")));
+        when(capacityCleanupOutboxRepository.recordFailure(anyCollection(), anyInt(), anyString(), any(), any()))
+                .thenReturn(Mono.just(1));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(capacityCleanupOutboxRepository, never()).deleteClaimed(anyCollection());
+        verify(capacityCleanupOutboxRepository).recordFailure(eq(List.of(10L)), eq(1),
+                eq("IllegalStateException: capacity-api unavailable"), notNull(), isNull());
+        assertEquals(1.0, meterRegistry.get("capacity.cleanup.outbox.failures").counter().count());
+    }
+
+    @Test
+    void drain_WhenAttemptsAreExhausted_ShouldParkTheBatch() {
+        // Arrange
+        when(capacityCleanupOutboxRepository.claimBatch(eq(2), any(), any()))
+                .thenReturn(Flux.just(row(10L, 7L, 2)));
+        when(capacityExternalServicePort.deleteCapacitiesByIds(anyList(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("bad request")));
+        when(capacityCleanupOutboxRepository.recordFailure(anyCollection(), anyInt(), anyString(), any(), any()))
+                .thenReturn(Mono.just(1));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(capacityCleanupOutboxRepository).recordFailure(eq(List.of(10L)), eq(3), anyString(), isNull(), notNull());
+        assertEquals(1.0, meterRegistry.get("capacity.cleanup.outbox.parks").counter().count());
+    }
+
+    private void stubCounts() {
+        when(capacityCleanupOutboxRepository.countPending()).thenReturn(Mono.just(0L));
+        when(capacityCleanupOutboxRepository.countParked()).thenReturn(Mono.just(0L));
+    }
+
+    private static CapacityCleanupOutboxEntity row(Long id, Long capacityId, int attempts) {
+        return new CapacityCleanupOutboxEntity(id, capacityId, LocalDateTime.now(), null, attempts, null, null);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.resilient_api.infrastructure.adapters.outbox;
+
+import com.example.resilient_api.application.config.OutboxProperties;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.MetricsOutboxEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
+import com.example.resilient_api.infrastructure.adapters.webclient.MetricsWebClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsOutboxRelayTest {
+
+    @Mock
+    private MetricsOutboxRepository metricsOutboxRepository;
+
+    @Mock
+    private MetricsWebClient metricsWebClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxProperties outboxProperties;
+    private MetricsOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxProperties = new OutboxProperties();
+        outboxProperties.getMetrics().setBatchSize(2);
+        outboxProperties.getMetrics().setMaxAttempts(3);
+
+        relay = new MetricsOutboxRelay(metricsOutboxRepository, metricsWebClient, meterRegistry, outboxProperties);
+    }
+
+    @Test
+    void drain_ShouldSendOneReportPerDistinctBootcampAndKeepDrainingFullBatches() {
+        // Arrange
+        outboxProperties.getMetrics().setBulkEndpoint(true);
+        when(metricsOutboxRepository.claimBatch(eq(2), any(), any(), any(), any()))
+                .thenReturn(Flux.just(row(10L, 1L, 0), row(11L, 1L, 0), row(12L, 1L, 0), row(13L, 2L, 0)))
+                .thenReturn(Flux.just(row(14L, 3L, 0)));
+        when(metricsWebClient.registerBootcampReports(anyList(), anyString())).thenReturn(Mono.empty());
+        when(metricsOutboxRepository.deleteClaimed(anyCollection())).thenReturn(Mono.just(1));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(metricsWebClient).registerBootcampReports(eq(List.of(1L, 2L)), anyString());
+        verify(metricsWebClient).registerBootcampReports(eq(List.of(3L)), anyString());
+        verify(metricsOutboxRepository).deleteClaimed(List.of(10L, 11L, 12L, 13L));
+        verify(metricsOutboxRepository).deleteClaimed(List.of(14L));
+        assertEquals(3.0, meterRegistry.get("metrics.outbox.reports").counter().count());
+        assertEquals(5.0, meterRegistry.get("metrics.outbox.triggers").counter().count());
+        assertEquals(2.0, meterRegistry.get("metrics.outbox.triggers.merged").counter().count());
+        assertEquals(2L, meterRegistry.get("metrics.outbox.flush").timer().count());
+    }
+
+    @Test
+    void drain_WhenOneBootcampFails_ShouldAcknowledgeTheOthersAndScheduleARetryForIt() {
+        // Arrange
+        when(metricsOutboxRepository.claimBatch(eq(2), any(), any(), any(), any()))
+                .thenReturn(Flux.just(row(10L, 1L, 0), row(11L, 1L, 0), row(12L, 2L, 0)))
+                .thenReturn(Flux.empty());
+        when(metricsWebClient.registerBootcampReport(eq(1L), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("bootcamp not found")));
+        when(metricsWebClient.registerBootcampReport(eq(2L), anyString())).thenReturn(Mono.empty());
+        when(metricsOutboxRepository.deleteClaimed(anyCollection())).thenReturn(Mono.just(1));
+        when(metricsOutboxRepository.recordFailure(anyCollection(), anyInt(), anyString(), any(), any()))
+                .thenReturn(Mono.just(2));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(metricsOutboxRepository).deleteClaimed(List.of(12L));
+        verify(metricsOutboxRepository).recordFailure(eq(List.of(10L, 11L)), eq(1),
+                eq("IllegalStateException: bootcamp not found"), notNull(), isNull());
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.failures").counter().count());
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.reports").counter().count());
+    }
+
+    @Test
+    void drain_WhenBulkReportFails_ShouldRetryEachBootcampAndParkTheOneThatExhaustsItsAttempts() {
+        // Arrange
+        outboxProperties.getMetrics().setBulkEndpoint(true);
+        when(metricsOutboxRepository.claimBatch(eq(2), any(), any(), any(), any()))
+                .thenReturn(Flux.just(row(10L, 1L, 2), row(11L, 2L, 0)))
+                .thenReturn(Flux.empty());
+        when(metricsWebClient.registerBootcampReports(anyList(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("bad request")));
+        when(metricsWebClient.registerBootcampReport(eq(1L), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("bad request")));
+        when(metricsWebClient.registerBootcampReport(eq(2L), anyString())).thenReturn(Mono.empty());
+        when(metricsOutboxRepository.deleteClaimed(anyCollection())).thenReturn(Mono.just(1));
+        when(metricsOutboxRepository.recordFailure(anyCollection(), anyInt(), anyString(), any(), any()))
+                .thenReturn(Mono.just(1));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(metricsOutboxRepository).deleteClaimed(List.of(11L));
+        verify(metricsOutboxRepository).recordFailure(eq(List.of(10L)), eq(3), anyString(), isNull(), notNull());
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.parks").counter().count());
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.reports").counter().count());
+    }
+
+    @Test
+    void drain_WhenBulkReportIsDeliveredButDeleteFails_ShouldRetryOnlyTheDelete() {
+        // Arrange
+        outboxProperties.getMetrics().setBulkEndpoint(true);
+        when(metricsOutboxRepository.claimBatch(eq(2), any(), any(), any(), any()))
+                .thenReturn(Flux.just(row(10L, 1L, 0), row(11L, 2L, 0)))
+                .thenReturn(Flux.empty());
+        when(metricsWebClient.registerBootcampReports(anyList(), anyString())).thenReturn(Mono.empty());
+        when(metricsOutboxRepository.deleteClaimed(List.of(10L, 11L)))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")))
+                .thenReturn(Mono.just(2));
+        stubCounts();
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(metricsWebClient, times(1)).registerBootcampReports(anyList(), anyString());
+        verify(metricsWebClient, never()).registerBootcampReport(anyLong(), anyString());
+        verify(metricsOutboxRepository, times(2)).deleteClaimed(List.of(10L, 11L));
+        verify(metricsOutboxRepository, never()).recordFailure(anyCollection(), anyInt(), anyString(), any(), any());
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.ack.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("metrics.outbox.reports").counter().count());
+    }
+
+    @Test
+    void drain_WhenClaimFails_ShouldCountFailureAndComplete() {
+        // Arrange
+        when(metricsOutboxRepository.claimBatch(eq(2), any(), any(), any(), any()))
+                .thenReturn(Flux.error(new IllegalStateException("database down")));
+
+        // Act & Assert
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("metrics.outbox.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("metrics.outbox.reports").counter().count());
+        verifyNoInteractions(metricsWebClient);
+    }
+
+    private void stubCounts() {
+        when(metricsOutboxRepository.countPending()).thenReturn(Mono.just(0L));
+        when(metricsOutboxRepository.countParked()).thenReturn(Mono.just(0L));
+    }
+
+    private static MetricsOutboxEntity row(Long id, Long bootcampId, int attempts) {
+        return new MetricsOutboxEntity(id, bootcampId, LocalDateTime.now(), null, attempts, null, null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.application.config.PaginationProperties;
+import com.example.resilient_api.domain.model.TotalCount;
+import com.example.resilient_api.domain.spi.BootcampPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BootcampCountAdapterTest {
+
+    @Mock
+    private BootcampPersistencePort bootcampPersistencePort;
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    private PaginationProperties.Count properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PaginationProperties.Count();
+    }
+
+    @Test
+    void totalBootcamps_InCachedMode_ShouldCountOnceAndServeTheCachedTotal() {
+        // Arrange
+        properties.setMode(PaginationProperties.CountMode.CACHED);
+        BootcampCountAdapter adapter = new BootcampCountAdapter(bootcampPersistencePort, databaseClient, properties);
+        when(bootcampPersistencePort.count()).thenReturn(Mono.just(10L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.totalBootcamps())
+                .expectNext(TotalCount.exact(10L))
+                .verifyComplete();
+
+        StepVerifier.create(adapter.totalBootcamps())
+                .expectNext(TotalCount.approximate(10L))
+                .verifyComplete();
+
+        verify(bootcampPersistencePort, times(1)).count();
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void totalBootcamps_InExactMode_ShouldCountOnEveryCall() {
+        // Arrange
+        properties.setMode(PaginationProperties.CountMode.EXACT);
+        BootcampCountAdapter adapter = new BootcampCountAdapter(bootcampPersistencePort, databaseClient, properties);
+        when(bootcampPersistencePort.count()).thenReturn(Mono.just(3L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.totalBootcamps().then(adapter.totalBootcamps()))
+                .expectNext(TotalCount.exact(3L))
+                .verifyComplete();
+
+        verify(bootcampPersistencePort, times(2)).count();
+    }
+
+    @Test
+    void invalidate_WithBootcampChange_ShouldRecountOnNextRead() {
+        // Arrange
+        properties.setMode(PaginationProperties.CountMode.CACHED);
+        BootcampCountAdapter adapter = new BootcampCountAdapter(bootcampPersistencePort, databaseClient, properties);
+        when(bootcampPersistencePort.count()).thenReturn(Mono.just(10L), Mono.just(12L));
+        StepVerifier.create(adapter.totalBootcamps()).expectNext(TotalCount.exact(10L)).verifyComplete();
+
+        // Act
+        adapter.invalidate(new CacheInvalidation(CacheInvalidation.Kind.CAPACITY, List.of(1L)));
+        adapter.invalidate(new CacheInvalidation(CacheInvalidation.Kind.BOOTCAMP, List.of(20L, 21L)));
+
+        // Assert
+        StepVerifier.create(adapter.totalBootcamps()).expectNext(TotalCount.exact(12L)).verifyComplete();
+        StepVerifier.create(adapter.totalBootcamps()).expectNext(TotalCount.approximate(12L)).verifyComplete();
+        verify(bootcampPersistencePort, times(2)).count();
+    }
+
+    @Test
+    void invalidate_DuringRecount_ShouldNotKeepTheOlderTotal() {
+        // Arrange
+        properties.setMode(PaginationProperties.CountMode.CACHED);
+        BootcampCountAdapter adapter = new BootcampCountAdapter(bootcampPersistencePort, databaseClient, properties);
+        Sinks.One<Long> inFlightCount = Sinks.one();
+        when(bootcampPersistencePort.count()).thenReturn(inFlightCount.asMono(), Mono.just(6L));
+
+        // Act
+        Mono<TotalCount> beforeInvalidation = adapter.totalBootcamps().cache();
+        beforeInvalidation.subscribe();
+        adapter.invalidateAll();
+        inFlightCount.tryEmitValue(5L);
+
+        // Assert
+        StepVerifier.create(beforeInvalidation).expectNext(TotalCount.exact(5L)).verifyComplete();
+        StepVerifier.create(adapter.totalBootcamps()).expectNext(TotalCount.exact(6L)).verifyComplete();
+    }
+}
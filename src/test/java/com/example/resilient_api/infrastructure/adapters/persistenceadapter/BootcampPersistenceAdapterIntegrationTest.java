@@ -0,0 +1,278 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.Bootcamp;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Sentencias del adaptador ejecutadas contra un Postgres real con schema.sql aplicado
+ */
+class BootcampPersistenceAdapterIntegrationTest {
+
+    private static final LocalDate LAUNCH_DATE = LocalDate.of(2026, 1, 15);
+
+    private static EmbeddedPostgresSupport postgres;
+
+    private DatabaseClient databaseClient;
+    private BootcampPersistenceAdapter adapter;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = EmbeddedPostgresSupport.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        postgres.reset();
+        databaseClient = postgres.databaseClient();
+        adapter = postgres.bootcampPersistenceAdapter();
+    }
+
+    @Test
+    void save_ShouldInsertEveryLinkInOneStatementKeepingTheReceivedOrder() {
+        // Arrange
+        Bootcamp java = new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of(30L, 10L, 20L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(java))
+                .expectNext(new Bootcamp(1L, "Java", "Backend", LAUNCH_DATE, 90, List.of(30L, 10L, 20L)))
+                .verifyComplete();
+
+        assertEquals(List.of("1:30", "1:10", "1:20"), linksInInsertionOrder());
+        assertEquals(List.of(3L), longs("SELECT capacity_count FROM bootcamp"));
+        assertEquals(List.of(1L), longs("SELECT bootcamp_id FROM metrics_outbox"));
+        StepVerifier.create(adapter.findById(1L))
+                .expectNextMatches(found -> found.capacityIds().equals(List.of(30L, 10L, 20L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_WithoutCapacities_ShouldNotInsertLinks() {
+        // Act & Assert
+        StepVerifier.create(adapter.save(new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of())))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(List.of(), linksInInsertionOrder());
+        assertEquals(1L, catalogVersion());
+    }
+
+    @Test
+    void saveAll_ShouldInsertBootcampsLinksAndOutboxInOneStatement() {
+        // Arrange
+        Bootcamp java = new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of(2L, 1L));
+        Bootcamp kotlin = new Bootcamp(null, "Kotlin", "Mobile", LAUNCH_DATE, 60, List.of(3L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.saveAll(List.of(java, kotlin)))
+                .expectNext(new Bootcamp(1L, "Java", "Backend", LAUNCH_DATE, 90, List.of(2L, 1L)))
+                .expectNext(new Bootcamp(2L, "Kotlin", "Mobile", LAUNCH_DATE, 60, List.of(3L)))
+                .verifyComplete();
+
+        assertEquals(List.of("1:2", "1:1", "2:3"), linksInInsertionOrder());
+        assertEquals(List.of(2L, 1L), longs("SELECT capacity_count FROM bootcamp ORDER BY id"));
+        assertEquals(List.of(1L, 2L), longs("SELECT bootcamp_id FROM metrics_outbox ORDER BY bootcamp_id"));
+        assertEquals(1L, catalogVersion());
+    }
+
+    @Test
+    void saveAll_WithNameAlreadyTaken_ShouldSkipItsRowLinksAndOutbox() {
+        // Arrange
+        StepVerifier.create(adapter.saveAll(List.of(new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of(1L)))))
+                .expectNextCount(1)
+                .verifyComplete();
+        Bootcamp duplicate = new Bootcamp(null, "Java", "Otro", LAUNCH_DATE, 30, List.of(7L, 8L));
+        Bootcamp kotlin = new Bootcamp(null, "Kotlin", "Mobile", LAUNCH_DATE, 60, List.of(3L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.saveAll(List.of(duplicate, kotlin)))
+                .expectNextMatches(saved -> saved.name().equals("Kotlin") && saved.capacityIds().equals(List.of(3L)))
+                .verifyComplete();
+
+        assertEquals(List.of("1:1", "3:3"), linksInInsertionOrder());
+        assertEquals(List.of(1L, 3L), longs("SELECT bootcamp_id FROM metrics_outbox ORDER BY bootcamp_id"));
+        assertEquals(2L, catalogVersion());
+    }
+
+    @Test
+    void saveAll_WithEveryNameTaken_ShouldNotBumpCatalogVersion() {
+        // Arrange
+        Bootcamp java = new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of(1L));
+        StepVerifier.create(adapter.saveAll(List.of(java)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Act & Assert
+        StepVerifier.create(adapter.saveAll(List.of(java)))
+                .verifyComplete();
+
+        assertEquals(1L, catalogVersion());
+        assertEquals(List.of(1L), longs("SELECT bootcamp_id FROM metrics_outbox"));
+    }
+
+    @Test
+    void deleteAllReturningOrphanCapacityIds_WithMoreIdsThanOneChunk_ShouldReportCapacitiesSharedOnlyWithinTheSet() {
+        // Arrange: 250 bootcamps en lotes de 100, 100 y 50; todos comparten la 500, cada uno tiene la suya (1000 + id)
+        // y el último sobrevive con la 600, que también usa el primero
+        List<Bootcamp> bootcamps = LongStream.rangeClosed(1, 251)
+                .mapToObj(id -> new Bootcamp(null, "Bootcamp " + id, "Descripción", LAUNCH_DATE, 30,
+                        id == 1 ? List.of(500L, 1001L, 600L) : id == 251 ? List.of(600L) : List.of(500L, 1000L + id)))
+                .toList();
+        saveAll(bootcamps);
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().collect(Collectors.toCollection(ArrayList::new));
+        ids.add(999L);
+
+        // Act & Assert
+        StepVerifier.create(adapter.deleteAllReturningOrphanCapacityIds(ids))
+                .assertNext(deletion -> {
+                    assertEquals(250, deletion.deletedIds().size());
+                    assertFalse(deletion.deletedIds().contains(999L));
+                    List<Long> expectedOrphans = LongStream.rangeClosed(1001, 1250).boxed()
+                            .collect(Collectors.toCollection(ArrayList::new));
+                    expectedOrphans.add(500L);
+                    assertEquals(expectedOrphans.stream().sorted().toList(),
+                            deletion.orphanCapacityIds().stream().sorted().toList());
+                })
+                .verifyComplete();
+
+        assertEquals(List.of(251L), longs("SELECT id FROM bootcamp"));
+        assertEquals(List.of("251:600"), linksInInsertionOrder());
+        assertEquals(251, capacityCleanupOutbox().size());
+        assertEquals(4L, catalogVersion());
+    }
+
+    @Test
+    void deleteAllReturningOrphanCapacityIds_WhenOneChunkFails_ShouldKeepTheOthersAndReportItsIdsAsFailed() {
+        // Arrange: 250 bootcamps con una capacidad propia cada uno; un trigger hace fallar el lote del 150
+        saveAll(LongStream.rangeClosed(1, 250)
+                .mapToObj(id -> new Bootcamp(null, "Bootcamp " + id, "Descripción", LAUNCH_DATE, 30, List.of(1000L + id)))
+                .toList());
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+        execute("""
+                CREATE FUNCTION fail_bootcamp_150() RETURNS trigger AS $$
+                BEGIN
+                    IF OLD.id = 150 THEN
+                        RAISE EXCEPTION 'bootcamp 150 cannot be deleted';
+                    END IF;
+                    RETURN OLD;
+                END
+                $$ LANGUAGE plpgsql
+                """);
+        execute("CREATE TRIGGER fail_bootcamp_150 BEFORE DELETE ON bootcamp FOR EACH ROW EXECUTE FUNCTION fail_bootcamp_150()");
+
+        try {
+            // Act & Assert
+            StepVerifier.create(adapter.deleteAllReturningOrphanCapacityIds(ids))
+                    .assertNext(deletion -> {
+                        assertEquals(LongStream.rangeClosed(101, 200).boxed().toList(), deletion.failedIds());
+                        assertEquals(150, deletion.deletedIds().size());
+                        assertEquals(150, deletion.orphanCapacityIds().size());
+                    })
+                    .verifyComplete();
+
+            assertEquals(LongStream.rangeClosed(101, 200).boxed().toList(), longs("SELECT id FROM bootcamp ORDER BY id"));
+            List<Long> committedOrphans = LongStream.rangeClosed(1001, 1250)
+                    .filter(capacityId -> capacityId <= 1100 || capacityId > 1200)
+                    .boxed()
+                    .toList();
+            assertEquals(committedOrphans, capacityCleanupOutbox());
+            assertEquals(3L, catalogVersion());
+        } finally {
+            execute("DROP TRIGGER fail_bootcamp_150 ON bootcamp");
+            execute("DROP FUNCTION fail_bootcamp_150()");
+        }
+    }
+
+    @Test
+    void deleteReturningOrphanCapacityIds_WithCapacitySharedWithSurvivor_ShouldReturnOnlyExclusiveOnes() {
+        // Arrange
+        saveAll(List.of(
+                new Bootcamp(null, "Java", "Backend", LAUNCH_DATE, 90, List.of(1L, 2L)),
+                new Bootcamp(null, "Kotlin", "Mobile", LAUNCH_DATE, 60, List.of(2L))));
+
+        // Act & Assert
+        StepVerifier.create(adapter.deleteReturningOrphanCapacityIds(1L))
+                .expectNext(List.of(1L))
+                .verifyComplete();
+
+        assertEquals(List.of("2:2"), linksInInsertionOrder());
+        assertEquals(List.of(1L), capacityCleanupOutbox());
+        assertEquals(2L, catalogVersion());
+    }
+
+    @Test
+    void deleteReturningOrphanCapacityIds_WithConcurrentDeletesSharingACapacity_ShouldQueueItExactlyOnce() {
+        // Arrange: 20 parejas de bootcamps; cada pareja comparte una capacidad que nadie más usa
+        int pairs = 20;
+        saveAll(LongStream.rangeClosed(1, pairs * 2L)
+                .mapToObj(id -> new Bootcamp(null, "Bootcamp " + id, "Descripción", LAUNCH_DATE, 30,
+                        List.of(100L + (id + 1) / 2)))
+                .toList());
+
+        // Act: los dos bootcamps de cada pareja se borran a la vez, cada uno por su propia conexión
+        Flux.range(1, pairs * 2)
+                .flatMap(id -> adapter.deleteReturningOrphanCapacityIds((long) id), pairs * 2)
+                .then()
+                .block();
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(101, 100 + pairs).boxed().toList(), capacityCleanupOutbox());
+        assertEquals(List.of(), linksInInsertionOrder());
+    }
+
+    @Test
+    void deleteReturningOrphanCapacityIds_WithMissingBootcamp_ShouldCompleteEmptyWithoutBumpingVersion() {
+        // Act & Assert
+        StepVerifier.create(adapter.deleteReturningOrphanCapacityIds(99L))
+                .verifyComplete();
+
+        assertEquals(0L, catalogVersion());
+    }
+
+    private void saveAll(List<Bootcamp> bootcamps) {
+        StepVerifier.create(adapter.saveAll(bootcamps))
+                .expectNextCount(bootcamps.size())
+                .verifyComplete();
+    }
+
+    private List<String> linksInInsertionOrder() {
+        return databaseClient.sql("SELECT bootcamp_id, capacity_id FROM bootcamp_capacity ORDER BY id")
+                .map(row -> row.get("bootcamp_id", Long.class) + ":" + row.get("capacity_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private List<Long> longs(String query) {
+        return databaseClient.sql(query)
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private void execute(String statement) {
+        databaseClient.sql(statement).then().block();
+    }
+
+    private List<Long> capacityCleanupOutbox() {
+        return longs("SELECT capacity_id FROM capacity_cleanup_outbox ORDER BY capacity_id");
+    }
+
+    private Long catalogVersion() {
+        return adapter.findCatalogVersion().block();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.application.config.CacheProperties;
+import com.example.resilient_api.infrastructure.adapters.cache.CacheInvalidationPublisher;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampCapacityRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampUserRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.MetricsOutboxRepository;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.mapstruct.factory.Mappers;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Postgres embebido compartido por las pruebas de los adaptadores de persistencia: se arranca una vez por JVM
+ * con schema.sql aplicado, y cada prueba parte de las tablas vacías tras {@link #reset()}
+ */
+final class EmbeddedPostgresSupport {
+
+    private static EmbeddedPostgres postgres;
+    private static ConnectionFactory connectionFactory;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcRepositoryFactory repositoryFactory;
+    private final TransactionalOperator transactionalOperator;
+
+    private EmbeddedPostgresSupport(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.repositoryFactory = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory));
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    static synchronized EmbeddedPostgresSupport start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Embedded Postgres could not be started", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedPostgresSupport::stop));
+            connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                    .host("localhost")
+                    .port(postgres.getPort())
+                    .username("postgres")
+                    .database("postgres")
+                    .build());
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        }
+        return new EmbeddedPostgresSupport(connectionFactory);
+    }
+
+    private static void stop() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void reset() {
+        databaseClient.sql("TRUNCATE bootcamp, bootcamp_capacity, bootcamp_user, metrics_outbox, capacity_cleanup_outbox RESTART IDENTITY")
+                .then()
+                .then(databaseClient.sql("UPDATE bootcamp_catalog_version SET version = 0 WHERE id = 1").then())
+                .block();
+    }
+
+    DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    TransactionalOperator transactionalOperator() {
+        return transactionalOperator;
+    }
+
+    CacheInvalidationPublisher cacheInvalidationPublisher() {
+        return new CacheInvalidationPublisher(databaseClient, new CacheProperties.Invalidation());
+    }
+
+    BootcampPersistenceAdapter bootcampPersistenceAdapter() {
+        return new BootcampPersistenceAdapter(
+                repositoryFactory.getRepository(BootcampRepository.class),
+                repositoryFactory.getRepository(BootcampCapacityRepository.class),
+                Mappers.getMapper(BootcampEntityMapper.class),
+                databaseClient,
+                repositoryFactory.getRepository(MetricsOutboxRepository.class),
+                transactionalOperator,
+                cacheInvalidationPublisher());
+    }
+
+    EnrollmentPersistenceAdapter enrollmentPersistenceAdapter() {
+        return new EnrollmentPersistenceAdapter(
+                repositoryFactory.getRepository(BootcampUserRepository.class),
+                repositoryFactory.getRepository(MetricsOutboxRepository.class),
+                transactionalOperator,
+                databaseClient);
+    }
+}
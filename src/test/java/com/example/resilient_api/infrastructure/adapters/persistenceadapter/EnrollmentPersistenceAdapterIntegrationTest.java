@@ -0,0 +1,159 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.BootcampEnrollment;
+import com.example.resilient_api.domain.model.EnrollmentRequest;
+import com.example.resilient_api.domain.model.EnrollmentResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ENROLL_USER_QUERY y el advisory lock por usuario ejecutados contra un Postgres real con schema.sql aplicado
+ */
+class EnrollmentPersistenceAdapterIntegrationTest {
+
+    private static final int MAX_BOOTCAMPS = 2;
+
+    private static EmbeddedPostgresSupport postgres;
+
+    private DatabaseClient databaseClient;
+    private EnrollmentPersistenceAdapter adapter;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = EmbeddedPostgresSupport.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        postgres.reset();
+        databaseClient = postgres.databaseClient();
+        adapter = postgres.enrollmentPersistenceAdapter();
+
+        // 1 y 2 se solapan; 3, 4 y 5 no se solapan con ningún otro
+        databaseClient.sql("""
+                        INSERT INTO bootcamp (name, description, launch_date, duration) VALUES
+                            ('Java', 'Backend', DATE '2026-01-01', 10),
+                            ('Kotlin', 'Mobile', DATE '2026-01-05', 10),
+                            ('Go', 'Cloud', DATE '2026-03-01', 10),
+                            ('Rust', 'Systems', DATE '2026-05-01', 10),
+                            ('Scala', 'Data', DATE '2026-07-01', 10)
+                        """)
+                .then()
+                .block();
+    }
+
+    @Test
+    void enrollUser_ShouldInsertEnrollmentAndOutboxRow() {
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUser(1L, 100L, MAX_BOOTCAMPS))
+                .expectNextMatches(enrollment -> enrollment.id() != null
+                        && enrollment.bootcampId().equals(1L) && enrollment.userId().equals(100L))
+                .verifyComplete();
+
+        assertEquals(List.of(1L), longs("SELECT bootcamp_id FROM bootcamp_user WHERE user_id = 100"));
+        assertEquals(List.of(1L), longs("SELECT bootcamp_id FROM metrics_outbox"));
+    }
+
+    @Test
+    void enrollUser_WithMissingBootcamp_ShouldFailWithBootcampNotFound() {
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUser(99L, 100L, MAX_BOOTCAMPS))
+                .expectErrorMatches(error -> rejectedWith(error, TechnicalMessage.BOOTCAMP_NOT_FOUND))
+                .verify();
+
+        assertEquals(List.of(), longs("SELECT bootcamp_id FROM metrics_outbox"));
+    }
+
+    @Test
+    void enrollUser_WhenAlreadyEnrolled_ShouldFailWithUserAlreadyEnrolled() {
+        // Arrange
+        adapter.enrollUser(1L, 100L, MAX_BOOTCAMPS).block();
+
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUser(1L, 100L, MAX_BOOTCAMPS))
+                .expectErrorMatches(error -> rejectedWith(error, TechnicalMessage.USER_ALREADY_ENROLLED))
+                .verify();
+    }
+
+    @Test
+    void enrollUser_WhenLimitReached_ShouldFailWithMaxBootcampsReached() {
+        // Arrange
+        adapter.enrollUser(3L, 100L, MAX_BOOTCAMPS).block();
+        adapter.enrollUser(4L, 100L, MAX_BOOTCAMPS).block();
+
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUser(5L, 100L, MAX_BOOTCAMPS))
+                .expectErrorMatches(error -> rejectedWith(error, TechnicalMessage.MAX_BOOTCAMPS_REACHED))
+                .verify();
+    }
+
+    @Test
+    void enrollUser_WithOverlappingDates_ShouldFailWithBootcampDateConflict() {
+        // Arrange
+        adapter.enrollUser(1L, 100L, MAX_BOOTCAMPS).block();
+
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUser(2L, 100L, MAX_BOOTCAMPS))
+                .expectErrorMatches(error -> rejectedWith(error, TechnicalMessage.BOOTCAMP_DATE_CONFLICT))
+                .verify();
+    }
+
+    @Test
+    void enrollUser_WithConcurrentRequestsOfTheSameUser_ShouldRespectTheLimit() {
+        // Arrange: tres altas simultáneas en bootcamps sin solape, cada una por su propia conexión
+        Flux<BootcampEnrollment> concurrent = Flux.just(3L, 4L, 5L)
+                .flatMap(bootcampId -> adapter.enrollUser(bootcampId, 100L, MAX_BOOTCAMPS)
+                        .onErrorResume(BusinessException.class, error -> Mono.empty()));
+
+        // Act & Assert
+        StepVerifier.create(concurrent)
+                .expectNextCount(MAX_BOOTCAMPS)
+                .verifyComplete();
+
+        assertEquals(List.of((long) MAX_BOOTCAMPS), longs("SELECT count(*) FROM bootcamp_user WHERE user_id = 100"));
+    }
+
+    @Test
+    void enrollUsers_ShouldLockUsersWithIdsBeyondInt4AndEvaluatePairsInOrder() {
+        // Arrange
+        long largeUserId = 5_000_000_000L;
+        List<EnrollmentRequest> requests = List.of(
+                new EnrollmentRequest(1L, largeUserId),
+                new EnrollmentRequest(2L, largeUserId),
+                new EnrollmentRequest(1L, 100L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.enrollUsers(requests, MAX_BOOTCAMPS))
+                .assertNext(results -> assertEquals(
+                        List.of(TechnicalMessage.ENROLLMENT_CREATED, TechnicalMessage.BOOTCAMP_DATE_CONFLICT,
+                                TechnicalMessage.ENROLLMENT_CREATED),
+                        results.stream().map(EnrollmentResult::status).toList()))
+                .verifyComplete();
+
+        assertEquals(List.of(100L, largeUserId), longs("SELECT user_id FROM bootcamp_user ORDER BY user_id"));
+    }
+
+    private boolean rejectedWith(Throwable error, TechnicalMessage technicalMessage) {
+        return error instanceof BusinessException businessException
+                && businessException.getTechnicalMessage() == technicalMessage;
+    }
+
+    private List<Long> longs(String query) {
+        return databaseClient.sql(query)
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
@@ -20,10 +21,14 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "outbox.metrics.auth-token=Bearer test-token")
 @AutoConfigureWebTestClient
 class BootcampIntegrationTest {
 
@@ -130,8 +135,8 @@ class BootcampIntegrationTest {
         CapacitySummary capacity = new CapacitySummary(1L, "Backend", List.of());
 
         when(bootcampPersistencePort.count()).thenReturn(Mono.just(1L));
+        when(bootcampPersistencePort.findCatalogVersion()).thenReturn(Mono.just(1L));
         when(bootcampPersistencePort.findAllPaginated(any())).thenReturn(Flux.just(bootcamp));
-        when(bootcampPersistencePort.findCapacityIdsByBootcampId(1L)).thenReturn(Flux.just(1L, 2L));
         when(capacityExternalServicePort.getCapacitiesWithTechnologies(anyList(), anyString()))
                 .thenReturn(Flux.just(capacity));
 
@@ -155,8 +160,8 @@ class BootcampIntegrationTest {
 
         CapacitySummary capacity = new CapacitySummary(1L, "Backend", List.of());
 
+        when(bootcampPersistencePort.findVersionById(1L)).thenReturn(Mono.just("5f2b"));
         when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(bootcamp));
-        when(bootcampPersistencePort.findCapacityIdsByBootcampId(1L)).thenReturn(Flux.just(1L));
         when(capacityExternalServicePort.getCapacitiesWithTechnologies(anyList(), anyString()))
                 .thenReturn(Flux.just(capacity));
 
@@ -170,9 +175,37 @@ class BootcampIntegrationTest {
                 .jsonPath("$.name").isEqualTo("Java Bootcamp");
     }
 
+    @Test
+    void getBootcampById_WithMatchingIfNoneMatch_ShouldReturn304WithWeakETag() {
+        // Arrange
+        when(bootcampPersistencePort.findVersionById(1L)).thenReturn(Mono.just("5f2b"));
+        when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(new Bootcamp(1L, "Java Bootcamp",
+                "Description", LocalDate.now(), 90, List.of(1L))));
+        when(capacityExternalServicePort.getCapacitiesWithTechnologies(anyList(), anyString()))
+                .thenReturn(Flux.just(new CapacitySummary(1L, "Backend", List.of())));
+
+        // Act & Assert
+        String etag = webTestClient.get()
+                .uri("/bootcamp/1")
+                .exchange()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertTrue(etag != null && etag.startsWith("W/\"1.5f2b-"));
+
+        webTestClient.get()
+                .uri("/bootcamp/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+        verify(bootcampPersistencePort, times(1)).findById(1L);
+    }
+
     @Test
     void getBootcampById_WithNonExistingId_ShouldReturn404() {
         // Arrange
+        when(bootcampPersistencePort.findVersionById(999L)).thenReturn(Mono.empty());
         when(bootcampPersistencePort.findById(999L)).thenReturn(Mono.empty());
 
         // Act & Assert
@@ -187,14 +220,7 @@ class BootcampIntegrationTest {
     @Test
     void deleteBootcamp_WithExistingId_ShouldReturn200() {
         // Arrange
-        Bootcamp bootcamp = new Bootcamp(1L, "Java Bootcamp", "Description",
-                LocalDate.now(), 90, List.of(1L, 2L));
-
-        when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(bootcamp));
-        when(bootcampPersistencePort.findCapacityIdsByBootcampId(1L)).thenReturn(Flux.just(1L, 2L));
-        when(bootcampPersistencePort.deleteBootcampCapacitiesByBootcampId(1L)).thenReturn(Mono.empty());
-        when(capacityExternalServicePort.deleteCapacitiesByIds(anyList(), anyString())).thenReturn(Mono.empty());
-        when(bootcampPersistencePort.deleteById(1L)).thenReturn(Mono.empty());
+        when(bootcampPersistencePort.deleteReturningOrphanCapacityIds(1L)).thenReturn(Mono.just(List.of(1L, 2L)));
 
         // Act & Assert
         webTestClient.delete()
@@ -208,7 +234,7 @@ class BootcampIntegrationTest {
     @Test
     void deleteBootcamp_WithNonExistingId_ShouldReturn404() {
         // Arrange
-        when(bootcampPersistencePort.findById(999L)).thenReturn(Mono.empty());
+        when(bootcampPersistencePort.deleteReturningOrphanCapacityIds(999L)).thenReturn(Mono.empty());
 
         // Act & Assert
         webTestClient.delete()
@@ -1,10 +1,14 @@
 package com.example.resilient_api.infrastructure.entrypoints;
 
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
 import com.example.resilient_api.domain.model.Bootcamp;
 import com.example.resilient_api.domain.model.BootcampEnrollment;
 import com.example.resilient_api.domain.spi.BootcampPersistencePort;
 import com.example.resilient_api.domain.spi.EnrollmentPersistencePort;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.EnrollmentRequestDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,16 +20,22 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "outbox.metrics.auth-token=Bearer test-token")
 @AutoConfigureWebTestClient
 class EnrollmentIntegrationTest {
 
@@ -67,11 +77,7 @@ class EnrollmentIntegrationTest {
 
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(100L, true)));
-        when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(validBootcamp));
-        when(enrollmentPersistencePort.isUserEnrolled(anyLong(), anyLong())).thenReturn(Mono.just(false));
-        when(enrollmentPersistencePort.countEnrollmentsByUserId(anyLong())).thenReturn(Mono.just(2L));
-        when(enrollmentPersistencePort.findBootcampsByUserId(anyLong())).thenReturn(Flux.empty());
-        when(enrollmentPersistencePort.enrollUser(anyLong(), anyLong())).thenReturn(Mono.just(enrollment));
+        when(enrollmentPersistencePort.enrollUser(anyLong(), anyLong(), anyInt())).thenReturn(Mono.just(enrollment));
 
         // Act & Assert
         webTestClient.post()
@@ -97,7 +103,8 @@ class EnrollmentIntegrationTest {
 
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(100L, true)));
-        when(bootcampPersistencePort.findById(999L)).thenReturn(Mono.empty());
+        when(enrollmentPersistencePort.enrollUser(eq(999L), anyLong(), anyInt()))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)));
 
         // Act & Assert
         webTestClient.post()
@@ -120,8 +127,8 @@ class EnrollmentIntegrationTest {
 
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(100L, true)));
-        when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(validBootcamp));
-        when(enrollmentPersistencePort.isUserEnrolled(1L, 100L)).thenReturn(Mono.just(true));
+        when(enrollmentPersistencePort.enrollUser(eq(1L), eq(100L), anyInt()))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.USER_ALREADY_ENROLLED)));
 
         // Act & Assert
         webTestClient.post()
@@ -144,9 +151,8 @@ class EnrollmentIntegrationTest {
 
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(100L, true)));
-        when(bootcampPersistencePort.findById(1L)).thenReturn(Mono.just(validBootcamp));
-        when(enrollmentPersistencePort.isUserEnrolled(anyLong(), anyLong())).thenReturn(Mono.just(false));
-        when(enrollmentPersistencePort.countEnrollmentsByUserId(100L)).thenReturn(Mono.just(5L));
+        when(enrollmentPersistencePort.enrollUser(eq(1L), eq(100L), anyInt()))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.MAX_BOOTCAMPS_REACHED)));
 
         // Act & Assert
         webTestClient.post()
@@ -215,7 +221,8 @@ class EnrollmentIntegrationTest {
 
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(100L, true)));
-        when(enrollmentPersistencePort.findBootcampsByUserId(100L))
+        when(enrollmentPersistencePort.findUserBootcampsVersion(100L)).thenReturn(Mono.just("2.7"));
+        when(enrollmentPersistencePort.findBootcampsByUserId(100L, false))
                 .thenReturn(Flux.just(bootcamp1, bootcamp2));
 
         // Act & Assert
@@ -223,6 +230,7 @@ class EnrollmentIntegrationTest {
                 .uri("/bootcamp/user/100")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2.7\"")
                 .expectBody()
                 .jsonPath("$").isArray()
                 .jsonPath("$.length()").isEqualTo(2)
@@ -230,9 +238,28 @@ class EnrollmentIntegrationTest {
                 .jsonPath("$[1].name").isEqualTo("Python Bootcamp");
     }
 
+    @Test
+    void getUserBootcamps_WithMatchingIfNoneMatch_ShouldReturn304WithoutLoadingBootcamps() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserBootcampsVersion(100L)).thenReturn(Mono.just("2.7"));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/bootcamp/user/100")
+                .header("If-None-Match", "W/\"1.3\", \"2.7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"2.7\"")
+                .expectBody().isEmpty();
+
+        verify(enrollmentPersistencePort, never()).findBootcampsByUserId(anyLong(), anyBoolean());
+        verifyNoInteractions(userExternalServicePort);
+    }
+
     @Test
     void getUserBootcamps_WithNonExistingUser_ShouldReturn404() {
         // Arrange
+        when(enrollmentPersistencePort.findUserBootcampsVersion(999L)).thenReturn(Mono.just("0.0"));
         when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
                 .thenReturn(Mono.just(Map.of(999L, false)));
 
@@ -279,4 +306,144 @@ class EnrollmentIntegrationTest {
                 .jsonPath("$").isArray()
                 .jsonPath("$.length()").isEqualTo(0);
     }
+
+    @Test
+    void getUserBootcamps_AsNdjson_ShouldStreamBootcampsWithETag() {
+        // Arrange
+        Bootcamp bootcamp1 = new Bootcamp(1L, "Java Bootcamp", "Description", LocalDate.now(), 90, List.of(1L));
+        Bootcamp bootcamp2 = new Bootcamp(2L, "Python Bootcamp", "Description", LocalDate.now(), 60, List.of(2L));
+
+        when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(100L, true)));
+        when(enrollmentPersistencePort.findUserBootcampsVersion(100L)).thenReturn(Mono.just("2.7"));
+        when(enrollmentPersistencePort.findBootcampsByUserId(100L, false))
+                .thenReturn(Flux.just(bootcamp1, bootcamp2));
+
+        // Act
+        Flux<BootcampDTO> body = webTestClient.get()
+                .uri("/bootcamp/user/100")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("ETag", "\"2.7\"")
+                .returnResult(BootcampDTO.class)
+                .getResponseBody();
+
+        // Assert
+        StepVerifier.create(body.map(BootcampDTO::getName))
+                .expectNext("Java Bootcamp", "Python Bootcamp")
+                .verifyComplete();
+    }
+
+    @Test
+    void getUserBootcamps_AsNdjson_WithNonExistingUser_ShouldReturn404() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserBootcampsVersion(999L)).thenReturn(Mono.just("0.0"));
+        when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(999L, false)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/bootcamp/user/999")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User not found");
+    }
+
+    @Test
+    void getUserBootcamps_AsEventStream_WithNonExistingUser_ShouldReturn404() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserBootcampsVersion(999L)).thenReturn(Mono.just("0.0"));
+        when(userExternalServicePort.checkUsersExist(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(999L, false)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/bootcamp/user/999")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User not found");
+    }
+
+    @Test
+    void getUserBootcamps_AsEventStream_WithMatchingIfNoneMatch_ShouldReturn304() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserBootcampsVersion(100L)).thenReturn(Mono.just("2.7"));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/bootcamp/user/100")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("If-None-Match", "\"2.7\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(enrollmentPersistencePort, never()).findBootcampsByUserId(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void getUserIdsByBootcampId_AsNdjson_ShouldWriteIdsBeforeTheQueryCompletes() {
+        // Arrange: la consulta nunca termina, los primeros ids deben llegar igualmente al cliente
+        when(enrollmentPersistencePort.findUserIdsByBootcampId(1L))
+                .thenReturn(Flux.concat(Flux.just(100L, 200L), Flux.never()));
+
+        // Act
+        Flux<Long> body = webTestClient.get()
+                .uri("/bootcamp/1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Long.class)
+                .getResponseBody();
+
+        // Assert
+        StepVerifier.create(body)
+                .expectNext(100L, 200L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getUserIdsByBootcampId_AsEventStream_ShouldSendOneEventPerId() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserIdsByBootcampId(1L))
+                .thenReturn(Flux.just(100L, 200L, 300L));
+
+        // Act
+        Flux<Long> body = webTestClient.get()
+                .uri("/bootcamp/1/users")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(Long.class)
+                .getResponseBody();
+
+        // Assert
+        StepVerifier.create(body)
+                .expectNext(100L, 200L, 300L)
+                .verifyComplete();
+    }
+
+    @Test
+    void getUserIdsByBootcampId_AsNdjson_WhenQueryFailsBeforeFirstId_ShouldReturn500Json() {
+        // Arrange
+        when(enrollmentPersistencePort.findUserIdsByBootcampId(1L))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.INTERNAL_ERROR)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/bootcamp/1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("500");
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.resilient_api.infrastructure.entrypoints.serializer;
+
+import com.example.resilient_api.domain.model.IdExistence;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdExistenceSerializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new SimpleModule().addSerializer(IdExistence.class, new IdExistenceSerializer()));
+    }
+
+    @Test
+    void serialize_ShouldWriteTheSameJsonAsAMapOfIdToBoolean() throws Exception {
+        // Arrange
+        IdExistence existence = IdExistence.of(new long[]{1L, 2L}, new long[]{1L});
+
+        // Act
+        String json = objectMapper.writeValueAsString(existence);
+
+        // Assert
+        assertEquals("{\"1\":true,\"2\":false}", json);
+        assertEquals(Map.of(1L, true, 2L, false), objectMapper.readValue(json, new TypeReference<Map<Long, Boolean>>() {
+        }));
+    }
+
+    @Test
+    void serialize_WithEmptyResult_ShouldWriteAnEmptyObject() throws Exception {
+        // Act & Assert
+        assertEquals("{}", objectMapper.writeValueAsString(IdExistence.empty()));
+    }
+}